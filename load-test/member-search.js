@@ -0,0 +1,69 @@
+// k6 부하 테스트 - 회원 검색 (GET /v1/members, 스트리밍 GET /v2/members)
+// k6 run -e BASE_URL=http://localhost:8080 -e VUS=5000 load-test/member-search.js
+// k6 run -e VUS=5000 -e PATH_UNDER_TEST=/v2/members load-test/member-search.js
+// 측정 결과는 아직 없음 - /v2 는 블로킹 JDBC offloading 이므로 코어 당 처리량 개선은 기대 하지 않는다 (README Streaming Search)
+import http from 'k6/http';
+import { check } from 'k6';
+import { Counter } from 'k6/metrics';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const PATH = __ENV.PATH_UNDER_TEST || '/v1/members';
+
+export const options = {
+    scenarios: {
+        search: {
+            executor: 'constant-vus',
+            vus: Number(__ENV.VUS || 5000),
+            duration: __ENV.DURATION || '2m',
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+// 두 응답 형식 (json 배열, ndjson) 의 결과 건수가 같은지 비교용
+const rows = new Counter('member_rows');
+
+function countRows(res) {
+    if (res.status !== 200 || !res.body) {
+        return 0;
+    }
+    if (PATH.startsWith('/v2/')) {
+        return res.body.split('\n').filter((line) => line.length > 0).length;
+    }
+    return JSON.parse(res.body).length;
+}
+
+// /v1/members 는 같은 조건의 결과를 캐시(MemberSearchCache) 하므로 매 요청 조건을 무작위로 만들어 캐시 적중을 피한다
+// - ageLoe 는 최대 나이(99) 이상 에서 무작위 -> 결과는 같고 캐시 키만 달라진다
+// - 적중률은 GET /v1/members/cache/stats 로 확인 (0 에 가까워야 DB 조회 비교가 된다)
+const TEAMS = ['teamA', 'teamB'];
+const MEMBERS = Number(__ENV.MEMBERS || 100);
+const AGE_LOE_RANGE = 1000000;
+
+function randomInt(max) {
+    return Math.floor(Math.random() * max);
+}
+
+function randomCondition() {
+    const ageGoe = randomInt(100);
+    const ageLoe = ageGoe + randomInt(AGE_LOE_RANGE);
+    switch (randomInt(4)) {
+        case 0:
+            return { teamName: TEAMS[randomInt(TEAMS.length)], ageGoe, ageLoe };
+        case 1:
+            return { teamName: TEAMS[randomInt(TEAMS.length)], ageLoe };
+        case 2:
+            return { name: `member${randomInt(MEMBERS)}`, ageLoe };
+        default:
+            return { ageGoe, ageLoe };
+    }
+}
+
+export default function () {
+    const condition = randomCondition();
+    const res = http.request('GET', `${BASE_URL}${PATH}`, JSON.stringify(condition), {
+        headers: { 'Content-Type': 'application/json' },
+    });
+    check(res, { 'status is 200': (r) => r.status === 200 });
+    rows.add(countRows(res));
+}
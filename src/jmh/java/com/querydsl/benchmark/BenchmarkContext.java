@@ -0,0 +1,76 @@
+package com.querydsl.benchmark;
+
+import com.querydsl.QuerydslApplication;
+import com.querydsl.dto.MemberInsertRow;
+import com.querydsl.dto.MemberSearchCondition;
+import com.querydsl.entity.Team;
+import com.querydsl.repository.MemberBulkInsertRepository;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * 벤치마크 공통 - 내장 H2 로 애플리케이션을 띄우고 데이터를 적재
+ * - 회원 i : name = "member" + i, age = i % 100, team = "team" + (i % TEAM_COUNT)
+**/
+public final class BenchmarkContext {
+    public static final int TEAM_COUNT = 10;
+
+    private BenchmarkContext() {
+    }
+
+    public static ConfigurableApplicationContext start(int dataSize) {
+        // 커맨드 라인 인자는 application.yml 의 spring.profiles.active 보다 우선
+        ConfigurableApplicationContext context = SpringApplication.run(QuerydslApplication.class,
+                "--spring.profiles.active=jmh",
+                "--spring.main.web-application-type=none",
+                "--spring.main.banner-mode=off");
+        seed(context, dataSize);
+        return context;
+    }
+
+    private static void seed(ConfigurableApplicationContext context, int dataSize) {
+        EntityManager em = context.getBean(EntityManager.class);
+        MemberBulkInsertRepository memberBulkInsertRepository = context.getBean(MemberBulkInsertRepository.class);
+        TransactionTemplate tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        tx.executeWithoutResult(status -> {
+            List<Team> teams = new ArrayList<>();
+            for (int i = 0; i < TEAM_COUNT; i++) {
+                Team team = new Team("team" + i);
+                em.persist(team);
+                teams.add(team);
+            }
+
+            memberBulkInsertRepository.insertAll(IntStream.range(0, dataSize)
+                    .mapToObj(i -> MemberInsertRow.of("member" + i, i % 100, teams.get(i % TEAM_COUNT).getId())));
+        });
+    }
+
+    /**
+     * 조건 선택도
+     * - HIGH : 이름 일치 (1 건)
+     * - MEDIUM : 팀 + 나이 구간 (약 1%)
+     * - LOW : 나이 하한만 지정 (전체)
+    **/
+    public enum Selectivity {
+        HIGH, MEDIUM, LOW;
+
+        public MemberSearchCondition condition() {
+            switch (this) {
+                case HIGH:
+                    return MemberSearchCondition.builder().name("member7").build();
+                case MEDIUM:
+                    return MemberSearchCondition.builder().teamName("team3").ageGoe(20).ageLoe(29).build();
+                default:
+                    return MemberSearchCondition.builder().ageGoe(0).build();
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.querydsl.benchmark;
+
+import com.querydsl.benchmark.BenchmarkContext.Selectivity;
+import com.querydsl.dto.MemberColumns;
+import com.querydsl.dto.MemberSearchCondition;
+import com.querydsl.dto.MemberTeamDto;
+import com.querydsl.repository.MemberColumnarRepository;
+import com.querydsl.repository.MemberRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 대량 조회 결과 형식 별 처리 시간, 할당량 비교 (-prof gc 의 gc.alloc.rate.norm / dataSize = row 당 할당 byte)
+ * - dto : Querydsl Tuple -> MemberTeamDto (row 마다 DTO, 박싱 된 id, 문자열)
+ * - columns : ResultSet -> 원시 타입 배열 + 팀 이름 사전 (MemberColumnarRepository)
+**/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class MemberColumnarBenchmark {
+
+    @Param({"100000"})
+    int dataSize;
+
+    @Param({"MEDIUM", "LOW"})
+    Selectivity selectivity;
+
+    ConfigurableApplicationContext context;
+    MemberRepository memberRepository;
+    MemberColumnarRepository memberColumnarRepository;
+    MemberSearchCondition condition;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(dataSize);
+        memberRepository = context.getBean(MemberRepository.class);
+        memberColumnarRepository = context.getBean(MemberColumnarRepository.class);
+        condition = selectivity.condition();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<MemberTeamDto> dto() {
+        return memberRepository.search(condition);
+    }
+
+    @Benchmark
+    public MemberColumns columns() {
+        return memberColumnarRepository.search(condition);
+    }
+}
@@ -0,0 +1,90 @@
+package com.querydsl.benchmark;
+
+import com.querydsl.dto.MemberSearchCondition;
+import com.querydsl.dto.MemberTeamDto;
+import com.querydsl.dto.QMemberTeamDto;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.querydsl.repository.MemberRepository;
+import com.querydsl.repository.support.MemberSearchPredicates;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.querydsl.entity.QMember.member;
+import static com.querydsl.entity.QTeam.team;
+
+/**
+ * 깊은 페이지 (offset 100,000+) 조회 - offset 페이징 vs 지연 조인 페이징
+ * - 둘 다 age, id 순으로 정렬된 같은 페이지와 전체 수를 조회
+**/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MemberDeepPageBenchmark {
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"300000"})
+    int dataSize;
+
+    @Param({"0", "100000", "250000"})
+    int offset;
+
+    ConfigurableApplicationContext context;
+    JPAQueryFactory queryFactory;
+    MemberRepository memberRepository;
+    MemberSearchCondition condition = new MemberSearchCondition();
+    PageRequest pageRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(dataSize);
+        queryFactory = new JPAQueryFactory(context.getBean(EntityManager.class));
+        memberRepository = context.getBean(MemberRepository.class);
+        pageRequest = PageRequest.of(offset / PAGE_SIZE, PAGE_SIZE, Sort.by("age"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<MemberTeamDto> offsetPaging() {
+        List<MemberTeamDto> content = queryFactory
+                .select(new QMemberTeamDto(
+                        member.id,
+                        member.name,
+                        member.age,
+                        team.id,
+                        team.name
+                ))
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(MemberSearchPredicates.of(condition))
+                .orderBy(member.age.asc(), member.id.asc())
+                .offset(pageRequest.getOffset())
+                .limit(pageRequest.getPageSize())
+                .fetch();
+
+        return PageableExecutionUtils.getPage(content, pageRequest, () -> queryFactory
+                .select(member.count())
+                .from(member)
+                .where(MemberSearchPredicates.of(condition))
+                .fetchOne());
+    }
+
+    @Benchmark
+    public Page<MemberTeamDto> deferredJoinPaging() {
+        return memberRepository.searchPageDeferred(condition, pageRequest);
+    }
+}
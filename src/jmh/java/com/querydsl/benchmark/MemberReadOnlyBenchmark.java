@@ -0,0 +1,73 @@
+package com.querydsl.benchmark;
+
+import com.querydsl.dto.MemberDto;
+import com.querydsl.entity.Member;
+import com.querydsl.repository.MemberJpaRepository;
+import org.hibernate.jpa.QueryHints;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 조회 전용 경로 별 처리 시간, 할당량 비교 (-prof gc 의 gc.alloc.rate.norm, gc.count)
+ * - managedEntity : 쓰기 트랜잭션 에서 엔티티 조회 (엔티티 + 변경 감지 스냅샷, 커밋 시 dirty checking)
+ * - readOnlyEntity : HINT_READONLY 엔티티 조회 (스냅샷 없음, 엔티티는 영속성 컨텍스트에 등록)
+ * - dto, dtoQueryDsl : MemberDto 프로젝션 + 읽기 전용 트랜잭션 (영속성 컨텍스트 사용 안함)
+**/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class MemberReadOnlyBenchmark {
+
+    @Param({"100000"})
+    int dataSize;
+
+    ConfigurableApplicationContext context;
+    EntityManager em;
+    MemberJpaRepository memberJpaRepository;
+    TransactionTemplate readWrite;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(dataSize);
+        em = context.getBean(EntityManager.class);
+        memberJpaRepository = context.getBean(MemberJpaRepository.class);
+        readWrite = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int managedEntity() {
+        return readWrite.execute(status -> memberJpaRepository.findAll().size());
+    }
+
+    @Benchmark
+    public int readOnlyEntity() {
+        return readWrite.execute(status -> em.createQuery("select m from Member m", Member.class)
+                .setHint(QueryHints.HINT_READONLY, true)
+                .getResultList()
+                .size());
+    }
+
+    @Benchmark
+    public List<MemberDto> dto() {
+        return memberJpaRepository.findAllDto();
+    }
+
+    @Benchmark
+    public List<MemberDto> dtoQueryDsl() {
+        return memberJpaRepository.findAllDto_queryDsl();
+    }
+}
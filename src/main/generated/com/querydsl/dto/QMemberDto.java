@@ -0,0 +1,21 @@
+package com.querydsl.dto;
+
+import com.querydsl.core.types.dsl.*;
+
+import com.querydsl.core.types.ConstructorExpression;
+import javax.annotation.processing.Generated;
+
+/**
+ * com.querydsl.dto.QMemberDto is a Querydsl Projection type for MemberDto
+ */
+@Generated("com.querydsl.codegen.DefaultProjectionSerializer")
+public class QMemberDto extends ConstructorExpression<MemberDto> {
+
+    private static final long serialVersionUID = -420176822L;
+
+    public QMemberDto(com.querydsl.core.types.Expression<String> name, com.querydsl.core.types.Expression<Integer> age) {
+        super(MemberDto.class, new Class<?>[]{String.class, int.class}, name, age);
+    }
+
+}
+
@@ -0,0 +1,21 @@
+package com.querydsl.dto;
+
+import com.querydsl.core.types.dsl.*;
+
+import com.querydsl.core.types.ConstructorExpression;
+import javax.annotation.processing.Generated;
+
+/**
+ * com.querydsl.dto.QMemberTeamDto is a Querydsl Projection type for MemberTeamDto
+ */
+@Generated("com.querydsl.codegen.DefaultProjectionSerializer")
+public class QMemberTeamDto extends ConstructorExpression<MemberTeamDto> {
+
+    private static final long serialVersionUID = 462535469L;
+
+    public QMemberTeamDto(com.querydsl.core.types.Expression<Long> memberId, com.querydsl.core.types.Expression<String> name, com.querydsl.core.types.Expression<Integer> age, com.querydsl.core.types.Expression<Long> teamId, com.querydsl.core.types.Expression<String> teamName) {
+        super(MemberTeamDto.class, new Class<?>[]{long.class, String.class, int.class, long.class, String.class}, memberId, name, age, teamId, teamName);
+    }
+
+}
+
@@ -0,0 +1,21 @@
+package com.querydsl.dto;
+
+import com.querydsl.core.types.dsl.*;
+
+import com.querydsl.core.types.ConstructorExpression;
+import javax.annotation.processing.Generated;
+
+/**
+ * com.querydsl.dto.QTeamStatisticsDto is a Querydsl Projection type for TeamStatisticsDto
+ */
+@Generated("com.querydsl.codegen.DefaultProjectionSerializer")
+public class QTeamStatisticsDto extends ConstructorExpression<TeamStatisticsDto> {
+
+    private static final long serialVersionUID = -15846204L;
+
+    public QTeamStatisticsDto(com.querydsl.core.types.Expression<Long> teamId, com.querydsl.core.types.Expression<String> teamName, com.querydsl.core.types.Expression<Long> memberCount, com.querydsl.core.types.Expression<Long> ageSum, com.querydsl.core.types.Expression<Integer> minAge, com.querydsl.core.types.Expression<Integer> maxAge) {
+        super(TeamStatisticsDto.class, new Class<?>[]{long.class, String.class, long.class, long.class, int.class, int.class}, teamId, teamName, memberCount, ageSum, minAge, maxAge);
+    }
+
+}
+
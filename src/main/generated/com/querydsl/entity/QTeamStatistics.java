@@ -0,0 +1,45 @@
+package com.querydsl.entity;
+
+import static com.querydsl.core.types.PathMetadataFactory.*;
+
+import com.querydsl.core.types.dsl.*;
+
+import com.querydsl.core.types.PathMetadata;
+import javax.annotation.processing.Generated;
+import com.querydsl.core.types.Path;
+
+
+/**
+ * QTeamStatistics is a Querydsl query type for TeamStatistics
+ */
+@Generated("com.querydsl.codegen.DefaultEntitySerializer")
+public class QTeamStatistics extends EntityPathBase<TeamStatistics> {
+
+    private static final long serialVersionUID = 1901556159L;
+
+    public static final QTeamStatistics teamStatistics = new QTeamStatistics("teamStatistics");
+
+    public final NumberPath<Long> ageSum = createNumber("ageSum", Long.class);
+
+    public final NumberPath<Integer> maxAge = createNumber("maxAge", Integer.class);
+
+    public final NumberPath<Long> memberCount = createNumber("memberCount", Long.class);
+
+    public final NumberPath<Integer> minAge = createNumber("minAge", Integer.class);
+
+    public final NumberPath<Long> teamId = createNumber("teamId", Long.class);
+
+    public QTeamStatistics(String variable) {
+        super(TeamStatistics.class, forVariable(variable));
+    }
+
+    public QTeamStatistics(Path<? extends TeamStatistics> path) {
+        super(path.getType(), path.getMetadata());
+    }
+
+    public QTeamStatistics(PathMetadata metadata) {
+        super(TeamStatistics.class, metadata);
+    }
+
+}
+
@@ -0,0 +1,21 @@
+package com.querydsl.config;
+
+import org.hibernate.boot.MetadataBuilder;
+import org.hibernate.boot.spi.MetadataBuilderContributor;
+import org.hibernate.dialect.function.SQLFunctionTemplate;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * JPQL, Querydsl 에서 MySQL FULLTEXT 검색 (match ... against) 을 사용 하기 위한 함수 등록
+ * - function('match_against', m.name, :query) > 0
+ * - hibernate.metadata_builder_contributor 로 지정 (Spring 빈이 아니다)
+**/
+public class MatchAgainstFunctionContributor implements MetadataBuilderContributor {
+    public static final String FUNCTION_NAME = "match_against";
+
+    @Override
+    public void contribute(MetadataBuilder metadataBuilder) {
+        metadataBuilder.applySqlFunction(FUNCTION_NAME,
+                new SQLFunctionTemplate(StandardBasicTypes.DOUBLE, "match (?1) against (?2 in boolean mode)"));
+    }
+}
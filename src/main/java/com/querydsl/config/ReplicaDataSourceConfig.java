@@ -0,0 +1,99 @@
+package com.querydsl.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * 읽기 전용 트랜잭션을 replica 로 보내는 DataSource (querydsl.datasource.replica.url 이 있을 때만 동작)
+ * - primary : spring.datasource.*, replica : querydsl.datasource.replica.* (계정 미지정 시 primary 와 동일)
+ * - 풀 설정 : spring.datasource.hikari.*, querydsl.datasource.replica.hikari.*
+ * - 복제 지연을 허용 하지 않는 호출은 ReplicaRouting.primary(...) 또는 요청 헤더 X-Read-Your-Writes: true
+**/
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "querydsl.datasource.replica", name = "url")
+public class ReplicaDataSourceConfig {
+    public static final String READ_YOUR_WRITES_HEADER = "X-Read-Your-Writes";
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    @Bean
+    @ConfigurationProperties("querydsl.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${querydsl.datasource.replica.url}") String url,
+                                              @Value("${querydsl.datasource.replica.username:${spring.datasource.username:}}") String username,
+                                              @Value("${querydsl.datasource.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource) {
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource();
+        routingDataSource.setTargetDataSources(Map.of(
+                ReplicaRoutingDataSource.PRIMARY, primaryDataSource,
+                ReplicaRoutingDataSource.REPLICA, replicaDataSource));
+        routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+        routingDataSource.afterPropertiesSet();
+
+        log.info("read only transactions are routed to replica");
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    /**
+     * 요청 단위 read-your-writes (방금 저장한 데이터를 바로 다시 조회 하는 화면 등)
+    **/
+    @Bean
+    public FilterRegistrationBean<OncePerRequestFilter> readYourWritesFilter() {
+        OncePerRequestFilter filter = new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                            FilterChain filterChain) throws ServletException, IOException {
+                if (!Boolean.parseBoolean(request.getHeader(READ_YOUR_WRITES_HEADER))) {
+                    filterChain.doFilter(request, response);
+                    return;
+                }
+
+                try (ReplicaRouting.Scope scope = ReplicaRouting.forcePrimary()) {
+                    filterChain.doFilter(request, response);
+                }
+            }
+        };
+        return new FilterRegistrationBean<>(filter);
+    }
+}
@@ -0,0 +1,53 @@
+package com.querydsl.config;
+
+import java.util.function.Supplier;
+
+/**
+ * 복제본(replica) 라우팅 제어
+ * - 기본 : 읽기 전용 트랜잭션은 replica (복제 지연을 허용 하는 조회)
+ * - primary(...) 안에서 시작한 트랜잭션은 읽기 전용 이라도 primary (read-your-writes)
+ * - 스레드 단위 이므로 다른 스레드(비동기 작업) 로 넘길 때는 isPrimaryForced() 를 캡처 해서 route(...) 로 다시 적용
+**/
+public final class ReplicaRouting {
+    private static final ThreadLocal<Boolean> PRIMARY_FORCED = new ThreadLocal<>();
+
+    private ReplicaRouting() {
+    }
+
+    public static boolean isPrimaryForced() {
+        return Boolean.TRUE.equals(PRIMARY_FORCED.get());
+    }
+
+    public static <T> T primary(Supplier<T> call) {
+        return route(true, call);
+    }
+
+    public static <T> T route(boolean primaryForced, Supplier<T> call) {
+        if (!primaryForced) {
+            return call.get();
+        }
+        try (Scope scope = forcePrimary()) {
+            return call.get();
+        }
+    }
+
+    /**
+     * close 할 때 까지 primary 고정, 이전 상태로 복원 하므로 중첩 가능
+    **/
+    public static Scope forcePrimary() {
+        Boolean previous = PRIMARY_FORCED.get();
+        PRIMARY_FORCED.set(Boolean.TRUE);
+        return () -> {
+            if (previous == null) {
+                PRIMARY_FORCED.remove();
+            } else {
+                PRIMARY_FORCED.set(previous);
+            }
+        };
+    }
+
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,23 @@
+package com.querydsl.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 트랜잭션 읽기 전용 여부로 primary, replica 선택
+ * - 트랜잭션 시작 시점(doBegin) 에는 아직 readOnly 플래그가 설정 되지 않으므로
+ *   반드시 LazyConnectionDataSourceProxy 로 감싸서 첫 쿼리 시점에 커넥션을 얻어야 한다
+ * - 트랜잭션 밖의 조회(JdbcTemplate 등) 와 쓰기는 primary
+**/
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (ReplicaRouting.isPrimaryForced()) {
+            return PRIMARY;
+        }
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? REPLICA : PRIMARY;
+    }
+}
@@ -0,0 +1,77 @@
+package com.querydsl.config;
+
+import com.querydsl.repository.MemberRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 2차 캐시 region 별 적중률 메트릭 (hibernate.second.level.cache.hit.ratio, region 태그)
+ * - hit / (hit + miss), 요청이 없으면 NaN
+ * - Hibernate Statistics 기반 이므로 hibernate.generate_statistics=true 필요
+ * - MeterBinder 로 등록 하면 MeterRegistry 생성 중에 EntityManagerFactory 를 만들게 되므로
+ *   모든 싱글톤 생성 후에 등록 (Spring Boot HibernateMetrics 와 동일)
+**/
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SecondLevelCacheMetrics implements SmartInitializingSingleton {
+    public static final String HIT_RATIO_METRIC = "hibernate.second.level.cache.hit.ratio";
+
+    // 쿼리 캐시 region 은 처음 사용할 때 만들어 지므로 이름으로 등록
+    private static final List<String> QUERY_REGIONS = List.of(
+            MemberRepository.FIND_BY_NAME_CACHE_REGION,
+            "default-query-results-region");
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final MeterRegistry registry;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        if (!sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled()) {
+            return;
+        }
+
+        Statistics statistics = sessionFactory.getStatistics();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            register(statistics, region, s -> s.getDomainDataRegionStatistics(region));
+        }
+        if (sessionFactory.getSessionFactoryOptions().isQueryCacheEnabled()) {
+            for (String region : QUERY_REGIONS) {
+                register(statistics, region, s -> s.getQueryRegionStatistics(region));
+            }
+        }
+    }
+
+    private void register(Statistics statistics, String region, Function<Statistics, CacheRegionStatistics> regionStatistics) {
+        Gauge.builder(HIT_RATIO_METRIC, statistics, s -> hitRatio(regionStatistics, s))
+                .tag("region", region)
+                .description("second level cache hit ratio")
+                .register(registry);
+    }
+
+    private static double hitRatio(Function<Statistics, CacheRegionStatistics> regionStatistics, Statistics statistics) {
+        CacheRegionStatistics region;
+        try {
+            region = regionStatistics.apply(statistics);
+        } catch (IllegalArgumentException e) {
+            return Double.NaN;
+        }
+        if (region == null) {
+            return Double.NaN;
+        }
+        long requests = region.getHitCount() + region.getMissCount();
+        return requests == 0 ? Double.NaN : (double) region.getHitCount() / requests;
+    }
+}
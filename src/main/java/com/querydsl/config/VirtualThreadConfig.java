@@ -0,0 +1,70 @@
+package com.querydsl.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.lang.reflect.InvocationTargetException;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 가상 스레드 요청 처리 (querydsl.virtual-threads.enabled=true 일 때만 동작)
+ * - Tomcat 요청 처리 스레드 풀을 요청 마다 가상 스레드를 생성하는 Executor 로 교체
+ * - JDBC 대기 중에는 캐리어 스레드를 반납 하므로 요청 수가 플랫폼 스레드 수에 묶이지 않는다
+ * - 대신 동시 DB 접근은 Hikari 풀 크기(maximum-pool-size) 로 제한, 초과 요청은 connection-timeout 까지 대기
+ *   querydsl.virtual-threads.hikari.* 로 지정, 가상 스레드 모드 에서만 풀 설정을 덮어쓴다
+ * - 컴파일 대상은 Java 17 이므로 Java 21 API 는 리플렉션으로 호출
+**/
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "querydsl.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        ExecutorService executor = newVirtualThreadPerTaskExecutor();
+        log.info("tomcat request handling runs on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    /**
+     * 풀이 시작 되기 전(초기화 전) 에 모든 Hikari 풀(replica 포함) 의 크기, 대기 시간 변경
+    **/
+    @Bean
+    public static BeanPostProcessor virtualThreadHikariPostProcessor(
+            @Value("${querydsl.virtual-threads.hikari.maximum-pool-size:20}") int maximumPoolSize,
+            @Value("${querydsl.virtual-threads.hikari.connection-timeout:3s}") Duration connectionTimeout) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource) {
+                    dataSource.setMaximumPoolSize(maximumPoolSize);
+                    dataSource.setConnectionTimeout(connectionTimeout.toMillis());
+                    log.info("{} pool for virtual threads. maximumPoolSize = {}, connectionTimeout = {}ms",
+                            beanName, maximumPoolSize, connectionTimeout.toMillis());
+                }
+                return bean;
+            }
+        };
+    }
+
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("가상 스레드는 Java 21 이상 에서만 사용할 수 있습니다. java.version = "
+                    + System.getProperty("java.version"), e);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("가상 스레드 Executor 생성 실패", e);
+        }
+    }
+}
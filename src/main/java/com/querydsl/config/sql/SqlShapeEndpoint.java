@@ -0,0 +1,24 @@
+package com.querydsl.config.sql;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+
+/**
+ * 평균 실행 시간이 긴 SQL 모양 top N (GET /actuator/sqlshapes?limit=10)
+**/
+@Endpoint(id = "sqlshapes")
+@RequiredArgsConstructor
+public class SqlShapeEndpoint {
+    private static final int DEFAULT_LIMIT = 10;
+
+    private final SqlShapeStats stats;
+
+    @ReadOperation
+    public List<SqlShapeSummary> slowest(@Nullable Integer limit) {
+        return stats.slowest(limit == null ? DEFAULT_LIMIT : limit);
+    }
+}
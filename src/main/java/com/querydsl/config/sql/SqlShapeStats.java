@@ -0,0 +1,177 @@
+package com.querydsl.config.sql;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.querydsl.repository.support.SearchConditionContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * SQL 모양(shape) 별 실행 시간 통계
+ * - 모양 : 리터럴 -> ?, (?, ?, ...) -> (?...) (in 목록 길이), 공백 정리 (같은 쿼리의 파라미터 차이는 하나의 모양)
+ * - jdbc.statement : 모양 id(shape 태그) 별 실행 시간 히스토그램, id 와 SQL 은 sqlshapes 엔드포인트 에서 확인
+ *   id 는 SQL hashCode, 다른 SQL 과 겹치면 -2, -3 ... 을 붙인다 (서로 다른 모양의 Timer 가 합쳐지지 않게)
+ * - 모양 수는 max-shapes 로 제한, 초과 하면 other 로 합산 (태그 카디널리티 제한)
+ * - slow-threshold 이상 걸린 실행만 SQL 과 현재 검색 조건(SearchConditionContext) 을 로그로 남김
+ * - DataSource 생성 시점 에는 MeterRegistry 가 없을 수 있으므로 bindTo 이후 부터 Timer 기록
+**/
+@Slf4j
+public class SqlShapeStats implements MeterBinder {
+    public static final String STATEMENT_METRIC = "jdbc.statement";
+    public static final String OTHER = "other";
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final Duration slowThreshold;
+    private final int maxShapes;
+
+    // 원본 SQL -> 모양, Hibernate 는 같은 SQL 문자열을 반복 사용 하므로 정규화는 한 번만
+    private final Cache<String, String> normalized = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .build();
+    private final Map<String, Shape> shapes = new ConcurrentHashMap<>();
+    // 모양 id -> SQL (id 충돌 검사)
+    private final Map<String, String> sqlById = new ConcurrentHashMap<>();
+    private final Shape other = new Shape(OTHER, OTHER);
+
+    private volatile MeterRegistry registry;
+
+    public SqlShapeStats(Duration slowThreshold, int maxShapes) {
+        this.slowThreshold = slowThreshold;
+        this.maxShapes = maxShapes;
+    }
+
+    public static String normalize(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = WHITESPACE.matcher(shape).replaceAll(" ").trim();
+        return IN_LIST.matcher(shape).replaceAll("(?...)");
+    }
+
+    /**
+     * 느린 쿼리 로그의 sql 은 실행한 문장의 모양 (other 로 합산 된 경우 에도 어떤 쿼리 인지 알 수 있도록)
+    **/
+    public void record(String sql, long nanos) {
+        String normalizedSql = normalized.get(sql, SqlShapeStats::normalize);
+        Shape shape = shape(normalizedSql);
+        shape.record(nanos);
+
+        if (nanos >= slowThreshold.toNanos()) {
+            Object condition = SearchConditionContext.current();
+            log.warn("slow sql {}ms shape={} condition={} sql={}",
+                    TimeUnit.NANOSECONDS.toMillis(nanos), shape.getId(), condition, normalizedSql);
+        }
+    }
+
+    /**
+     * 평균 실행 시간이 긴 순서로 limit 개
+    **/
+    public List<SqlShapeSummary> slowest(int limit) {
+        return shapesWithOther().stream()
+                .filter(shape -> shape.count.sum() > 0)
+                .map(Shape::summary)
+                .sorted(Comparator.comparingDouble(SqlShapeSummary::getMeanMillis).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        shapesWithOther().forEach(shape -> shape.bind(registry));
+    }
+
+    private List<Shape> shapesWithOther() {
+        List<Shape> all = new ArrayList<>(shapes.values());
+        all.add(other);
+        return all;
+    }
+
+    private Shape shape(String normalizedSql) {
+        Shape shape = shapes.get(normalizedSql);
+        if (shape != null) {
+            return shape;
+        }
+        if (shapes.size() >= maxShapes) {
+            return other;
+        }
+        return shapes.computeIfAbsent(normalizedSql, key -> {
+            Shape created = new Shape(newId(key), key);
+            MeterRegistry current = registry;
+            if (current != null) {
+                created.bind(current);
+            }
+            return created;
+        });
+    }
+
+    private String newId(String sql) {
+        String base = Integer.toHexString(sql.hashCode());
+        String id = base;
+        for (int suffix = 2; ; suffix++) {
+            String owner = sqlById.putIfAbsent(id, sql);
+            if (owner == null || owner.equals(sql)) {
+                return id;
+            }
+            id = base + "-" + suffix;
+        }
+    }
+
+    private static class Shape {
+        @Getter
+        private final String id;
+        @Getter
+        private final String sql;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private volatile Timer timer;
+
+        Shape(String id, String sql) {
+            this.id = id;
+            this.sql = sql;
+        }
+
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+
+            Timer current = timer;
+            if (current != null) {
+                current.record(nanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        void bind(MeterRegistry registry) {
+            timer = Timer.builder(STATEMENT_METRIC)
+                    .tag("shape", id)
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+
+        SqlShapeSummary summary() {
+            long executions = count.sum();
+            double totalMillis = totalNanos.sum() / 1_000_000.0;
+            return new SqlShapeSummary(id, sql, executions, totalMillis / executions,
+                    maxNanos.get() / 1_000_000.0, totalMillis);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.querydsl.config.sql;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * SQL 모양 별 누적 실행 통계 (sqlshapes 엔드포인트 응답)
+**/
+@Getter
+@AllArgsConstructor
+public class SqlShapeSummary {
+    private String id;
+    private String sql;
+    private long count;
+    private double meanMillis;
+    private double maxMillis;
+    private double totalMillis;
+}
@@ -0,0 +1,72 @@
+package com.querydsl.config.sql;
+
+import com.querydsl.repository.support.SearchConditionContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * SQL 모양 별 실행 시간 통계, 느린 쿼리 로그 (querydsl.sql-stats.enabled=false 면 사용 안함)
+ * - 애플리케이션 에서 사용 하는 dataSource 빈만 SqlStatsDataSource 로 감싼다
+ *   (replica 구성의 primaryDataSource, replicaDataSource 는 dataSource 를 통해 호출 되므로 중복 측정 하지 않음)
+ * - 요청 단위 로 SearchConditionContext 를 열고 닫는 필터 (조건은 SearchConditionCaptureAdvice 가 등록)
+**/
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "querydsl.sql-stats", name = "enabled", matchIfMissing = true)
+public class SqlStatsConfig {
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    @Bean
+    public SqlShapeStats sqlShapeStats(@Value("${querydsl.sql-stats.slow-threshold:200ms}") Duration slowThreshold,
+                                       @Value("${querydsl.sql-stats.max-shapes:500}") int maxShapes) {
+        return new SqlShapeStats(slowThreshold, maxShapes);
+    }
+
+    @Bean
+    public static BeanPostProcessor sqlStatsDataSourcePostProcessor(ObjectProvider<SqlShapeStats> stats) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!DATA_SOURCE_BEAN.equals(beanName) || !(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                log.info("sql statement statistics enabled");
+                return new SqlStatsDataSource(dataSource, stats.getObject());
+            }
+        };
+    }
+
+    @Bean
+    public SqlShapeEndpoint sqlShapeEndpoint(SqlShapeStats stats) {
+        return new SqlShapeEndpoint(stats);
+    }
+
+    @Bean
+    public FilterRegistrationBean<OncePerRequestFilter> searchConditionContextFilter() {
+        OncePerRequestFilter filter = new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                            FilterChain filterChain) throws ServletException, IOException {
+                try (SearchConditionContext.Scope scope = SearchConditionContext.open(null)) {
+                    filterChain.doFilter(request, response);
+                }
+            }
+        };
+        return new FilterRegistrationBean<>(filter);
+    }
+}
@@ -0,0 +1,98 @@
+package com.querydsl.config.sql;
+
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * 실행 시간을 SqlShapeStats 에 기록 하는 DataSource
+ * - Connection, Statement 를 프록시로 감싸서 execute* 호출 시간만 측정 (ResultSet 을 읽는 시간은 제외)
+ * - PreparedStatement 는 prepare 시점의 SQL, Statement 는 execute 인자의 SQL 로 모양 계산
+ * - 파라미터 값은 보관 하지 않으므로 SQL 로그(org.hibernate.SQL, org.hibernate.type) 보다 부담이 작다
+**/
+public class SqlStatsDataSource extends DelegatingDataSource {
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private final SqlShapeStats stats;
+
+    public SqlStatsDataSource(DataSource targetDataSource, SqlShapeStats stats) {
+        super(targetDataSource);
+        this.stats = stats;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connection(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connection(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    /**
+     * Spring 의 DataSourceUtils 가 원본 커넥션을 비교 할 수 있도록 ConnectionProxy 로 노출
+    **/
+    private Connection connection(Connection target) {
+        return proxy(ConnectionProxy.class, target, (proxy, method, args) -> switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "getTargetConnection" -> target;
+            case "createStatement" -> statement(Statement.class, (Connection) proxy,
+                    (Statement) invoke(target, method, args), null);
+            case "prepareStatement", "prepareCall" -> statement(method.getReturnType(), (Connection) proxy,
+                    (Statement) invoke(target, method, args), (String) args[0]);
+            default -> invoke(target, method, args);
+        });
+    }
+
+    private Statement statement(Class<?> type, Connection connection, Statement target, String preparedSql) {
+        Class<? extends Statement> statementType = CallableStatement.class.equals(type) ? CallableStatement.class
+                : PreparedStatement.class.equals(type) ? PreparedStatement.class
+                : Statement.class;
+
+        return proxy(statementType, target, (proxy, method, args) -> {
+            if ("getConnection".equals(method.getName())) {
+                return connection;
+            }
+            if (!EXECUTE_METHODS.contains(method.getName())) {
+                return invoke(target, method, args);
+            }
+
+            String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : preparedSql;
+            long start = System.nanoTime();
+            try {
+                return invoke(target, method, args);
+            } finally {
+                if (sql != null) {
+                    stats.record(sql, System.nanoTime() - start);
+                }
+            }
+        });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Object target, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(SqlStatsDataSource.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+}
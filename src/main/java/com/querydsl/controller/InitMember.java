@@ -1,7 +1,8 @@
 package com.querydsl.controller;
 
-import com.querydsl.entity.Member;
+import com.querydsl.dto.MemberInsertRow;
 import com.querydsl.entity.Team;
+import com.querydsl.repository.MemberJpaRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
@@ -10,6 +11,8 @@ import org.springframework.transaction.annotation.Transactional;
 import javax.annotation.PostConstruct;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.List;
 
 
 /**
@@ -36,10 +39,16 @@ public class InitMember {
      * 스프링 빈 라이프 스타일 때문에 Transactional 과 PostConstruct 분리
     **/
     @Component
+    @RequiredArgsConstructor
     static class InitMemberService {
         @PersistenceContext
         private EntityManager em;
 
+        private final MemberJpaRepository memberJpaRepository;
+
+        /**
+         * 회원은 JDBC 배치 insert 로 적재
+        **/
         @Transactional
         public void init() {
             Team teamA = new Team("teamA");
@@ -47,10 +56,12 @@ public class InitMember {
             em.persist(teamA);
             em.persist(teamB);
 
+            List<MemberInsertRow> members = new ArrayList<>();
             for (int i = 0; i < 100 ; i++) {
                 Team selectedTeam = i % 2 == 0? teamA : teamB;
-                em.persist(new Member("member" + i,i,selectedTeam));
+                members.add(MemberInsertRow.of("member" + i,i,selectedTeam.getId()));
             }
+            memberJpaRepository.saveAllBatch(members);
         }
     }
 }
@@ -1,14 +1,31 @@
 package com.querydsl.controller;
 
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.querydsl.dto.CountStrategy;
+import com.querydsl.dto.MemberCountedPage;
+import com.querydsl.dto.MemberKeysetSlice;
 import com.querydsl.dto.MemberSearchCondition;
 import com.querydsl.dto.MemberTeamDto;
+import com.querydsl.dto.SearchCacheStatsDto;
 import com.querydsl.repository.MemberJpaRepository;
+import com.querydsl.repository.MemberReactiveRepository;
+import com.querydsl.repository.MemberRepository;
+import com.querydsl.repository.cache.MemberSearchCache;
+import com.querydsl.service.MemberExportService;
+import com.querydsl.service.MemberExportService.ExportFormat;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.List;
 
 @Slf4j
@@ -16,9 +33,74 @@ import java.util.List;
 @RestController
 public class MemberController {
     private final MemberJpaRepository memberJpaRepository;
+    private final MemberRepository memberRepository;
+    private final MemberReactiveRepository memberReactiveRepository;
+    private final MemberExportService memberExportService;
+    private final MemberSearchCache memberSearchCache;
 
     @GetMapping("/v1/members")
     public List<MemberTeamDto> searchMemberV1(@RequestBody MemberSearchCondition condition) {
-        return this.memberJpaRepository.searchByBuilder(condition);
+        return this.memberSearchCache.get(condition, this.memberJpaRepository::searchByShape);
+    }
+
+    /**
+     * 스트리밍 검색 (ndjson) - 조회 중에 요청 처리 스레드를 점유 하지 않는다
+    **/
+    @GetMapping(value = "/v2/members", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<MemberTeamDto> searchMemberV2(@RequestBody MemberSearchCondition condition) {
+        return this.memberReactiveRepository.search(condition);
+    }
+
+    @GetMapping("/v1/members/cache/stats")
+    public SearchCacheStatsDto searchCacheStats() {
+        CacheStats stats = this.memberSearchCache.stats();
+        return SearchCacheStatsDto.builder()
+                .size(this.memberSearchCache.size())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .evictionCount(stats.evictionCount())
+                .hitRate(stats.hitRate())
+                .build();
+    }
+
+    /**
+     * 페이징 - countStrategy 로 전체 수 계산 방식 선택 (EXACT, CAPPED, ESTIMATED)
+    **/
+    @GetMapping("/v1/members/page")
+    public MemberCountedPage searchMemberPage(@RequestBody MemberSearchCondition condition,
+                                              @RequestParam(defaultValue = "EXACT") CountStrategy countStrategy,
+                                              Pageable pageable) {
+        return this.memberRepository.searchPage(condition, pageable, countStrategy);
+    }
+
+    /**
+     * keyset 페이징 - 응답의 nextCursor 를 다음 요청의 cursor 로 전달
+    **/
+    @GetMapping("/v1/members/keyset")
+    public MemberKeysetSlice searchMemberKeyset(@RequestBody MemberSearchCondition condition,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(defaultValue = "20") int size) {
+        return this.memberRepository.searchKeyset(condition, cursor, size);
+    }
+
+    /**
+     * 여러 조건 한번에 검색 - 응답은 요청 조건과 같은 순서의 결과 목록
+    **/
+    @PostMapping("/v1/members/batch")
+    public List<List<MemberTeamDto>> searchMemberBatch(@RequestBody List<MemberSearchCondition> conditions) {
+        return this.memberRepository.searchBatch(conditions);
+    }
+
+    /**
+     * 검색 결과 스트리밍 내보내기 (ndjson, csv)
+    **/
+    @GetMapping("/v1/members/export")
+    public void exportMembers(@RequestBody MemberSearchCondition condition,
+                              @RequestParam(defaultValue = "ndjson") String format,
+                              HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        this.memberExportService.export(condition, exportFormat, response.getWriter());
     }
 }
@@ -0,0 +1,49 @@
+package com.querydsl.controller;
+
+import com.querydsl.dto.MemberSearchCondition;
+import com.querydsl.repository.support.SearchConditionContext;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * 요청 본문의 검색 조건을 SearchConditionContext 에 등록 (느린 쿼리 로그 용)
+ * - MemberSearchCondition 하나, 또는 일괄 검색(/v1/members/batch) 의 List<MemberSearchCondition>
+ * - 요청이 끝나면 SqlStatsConfig 의 필터가 복원
+ *   필터가 없으면 요청 스레드 에 조건이 남으므로 SqlStatsConfig 와 같은 조건 (querydsl.sql-stats.enabled) 으로 등록
+**/
+@RestControllerAdvice
+@ConditionalOnProperty(prefix = "querydsl.sql-stats", name = "enabled", matchIfMissing = true)
+public class SearchConditionCaptureAdvice extends RequestBodyAdviceAdapter {
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        ResolvableType type = ResolvableType.forType(targetType);
+        if (MemberSearchCondition.class.equals(type.resolve())) {
+            return true;
+        }
+        ResolvableType collection = type.asCollection();
+        return collection != ResolvableType.NONE
+                && MemberSearchCondition.class.equals(collection.resolveGeneric(0));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter,
+                                Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+        if (body instanceof MemberSearchCondition condition) {
+            SearchConditionContext.set(condition);
+        } else if (body instanceof List<?> conditions) {
+            SearchConditionContext.setBatch((List<MemberSearchCondition>) conditions);
+        }
+        return body;
+    }
+}
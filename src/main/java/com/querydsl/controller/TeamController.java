@@ -0,0 +1,35 @@
+package com.querydsl.controller;
+
+import com.querydsl.dto.TeamStatisticsDto;
+import com.querydsl.repository.TeamJpaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@Slf4j
+@RequiredArgsConstructor
+@RestController
+public class TeamController {
+    private final TeamJpaRepository teamJpaRepository;
+
+    /**
+     * 팀 별 회원 수, 평균, 최소, 최대 나이 - 집계 테이블 조회 (회원 수와 무관하게 O(팀 수))
+    **/
+    @GetMapping("/v1/teams/statistics")
+    public List<TeamStatisticsDto> teamStatistics() {
+        return this.teamJpaRepository.findAllStatistics();
+    }
+
+    /**
+     * 전체 재집계 (복구 용)
+    **/
+    @PostMapping("/v1/teams/statistics/recalculate")
+    public List<TeamStatisticsDto> recalculateTeamStatistics() {
+        this.teamJpaRepository.recalculateAll();
+        return this.teamJpaRepository.findAllStatistics();
+    }
+}
@@ -0,0 +1,16 @@
+package com.querydsl.dto;
+
+import lombok.*;
+
+/**
+ * 벌크 연산 진행 상황 (chunk 단위로 커밋 될 때 마다 전달)
+**/
+@Getter
+@AllArgsConstructor
+@ToString(of = {"operation","chunk","totalChunks","affectedRows"})
+public class BulkProgress {
+    private final String operation;
+    private final long chunk;
+    private final long totalChunks;
+    private final long affectedRows;
+}
@@ -0,0 +1,11 @@
+package com.querydsl.dto;
+
+/**
+ * 페이징 전체 수 계산 방식
+ * - EXACT : count 쿼리
+ * - CAPPED : 상한(querydsl.count.cap) 까지만 세고 넘으면 "상한+" 로 표시
+ * - ESTIMATED : 옵티마이저 예상 row 수 (MySQL EXPLAIN)
+**/
+public enum CountStrategy {
+    EXACT, CAPPED, ESTIMATED
+}
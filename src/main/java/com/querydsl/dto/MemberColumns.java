@@ -0,0 +1,37 @@
+package com.querydsl.dto;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 컬럼 형식 검색 결과 (대량 분석 조회 용)
+ * - row 마다 객체를 만들지 않고 컬럼 별 원시 타입 배열에 저장
+ * - 팀 이름은 사전 인코딩 : teamNameCodes[i] -> teamNames 의 위치 (팀이 없으면 NO_TEAM)
+ * - 팀이 없는 회원의 teamIds[i] 는 0 (IDENTITY 키는 1 부터 시작)
+**/
+@Getter
+public class MemberColumns {
+    public static final int NO_TEAM = -1;
+
+    private final int size;
+    private final long[] ids;
+    private final int[] ages;
+    private final long[] teamIds;
+    private final int[] teamNameCodes;
+    private final List<String> teamNames;
+
+    public MemberColumns(int size, long[] ids, int[] ages, long[] teamIds, int[] teamNameCodes, List<String> teamNames) {
+        this.size = size;
+        this.ids = ids;
+        this.ages = ages;
+        this.teamIds = teamIds;
+        this.teamNameCodes = teamNameCodes;
+        this.teamNames = teamNames;
+    }
+
+    public String teamName(int row) {
+        int code = teamNameCodes[row];
+        return code == NO_TEAM ? null : teamNames.get(code);
+    }
+}
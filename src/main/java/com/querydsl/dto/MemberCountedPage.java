@@ -0,0 +1,36 @@
+package com.querydsl.dto;
+
+import lombok.Getter;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * 전체 수가 정확한 값인지 함께 알려주는 페이지
+ * - totalExact 가 false 이면 totalElements 는 상한 값 또는 추정치
+**/
+@Getter
+public class MemberCountedPage extends PageImpl<MemberTeamDto> {
+    private final CountStrategy countStrategy;
+    private final boolean totalExact;
+
+    public MemberCountedPage(List<MemberTeamDto> content, Pageable pageable, long total,
+                             CountStrategy countStrategy, boolean totalExact) {
+        super(content, pageable, total);
+        this.countStrategy = countStrategy;
+        this.totalExact = totalExact;
+    }
+
+    /**
+     * 화면 표시 용 (ex. 1,234 / 10,000+ / 약 12,345)
+    **/
+    public String getTotalLabel() {
+        if (totalExact) {
+            return String.format("%,d", getTotalElements());
+        }
+        return countStrategy == CountStrategy.CAPPED
+                ? String.format("%,d+", getTotalElements())
+                : String.format("약 %,d", getTotalElements());
+    }
+}
@@ -0,0 +1,16 @@
+package com.querydsl.dto;
+
+import lombok.*;
+
+/**
+ * JDBC 배치 insert 용 회원 row (MemberBulkInsertRepository)
+ * - 엔티티가 아니므로 Team.members 에 추가 되지 않고, 팀은 id 로만 참조
+**/
+@Getter
+@ToString
+@AllArgsConstructor(staticName = "of")
+public class MemberInsertRow {
+    private final String name;
+    private final int age;
+    private final Long teamId;
+}
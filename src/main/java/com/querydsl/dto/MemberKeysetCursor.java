@@ -0,0 +1,46 @@
+package com.querydsl.dto;
+
+import com.querydsl.exception.InvalidSearchRequestException;
+import lombok.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * keyset 페이징 커서 (마지막으로 조회한 age, memberId)
+ * - 클라이언트에는 Base64 로 인코딩 된 불투명한 문자열로만 전달
+**/
+@Getter
+@EqualsAndHashCode
+@ToString(of = {"age","memberId"})
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class MemberKeysetCursor {
+    private static final String DELIMITER = ":";
+
+    private final int age;
+    private final Long memberId;
+
+    public static MemberKeysetCursor of(MemberTeamDto last) {
+        return new MemberKeysetCursor(last.getAge(), last.getMemberId());
+    }
+
+    public String encode() {
+        String raw = age + DELIMITER + memberId;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static MemberKeysetCursor decode(String cursor) {
+        String[] values;
+        try {
+            values = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(DELIMITER);
+            if (values.length == 2) {
+                return new MemberKeysetCursor(Integer.parseInt(values[0]), Long.parseLong(values[1]));
+            }
+        } catch (IllegalArgumentException e) {
+            // Base64 디코딩 실패, NumberFormatException 포함
+            throw new InvalidSearchRequestException("잘못된 커서 입니다. cursor = " + cursor, e);
+        }
+        throw new InvalidSearchRequestException("잘못된 커서 입니다. cursor = " + cursor);
+    }
+}
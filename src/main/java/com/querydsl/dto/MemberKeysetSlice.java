@@ -0,0 +1,19 @@
+package com.querydsl.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * keyset 페이징 결과
+ * - nextCursor 가 null 이면 마지막 페이지
+**/
+@Getter
+@ToString(of = {"size","hasNext","nextCursor"})
+@AllArgsConstructor
+public class MemberKeysetSlice {
+    private final List<MemberTeamDto> content;
+    private final int size;
+    private final boolean hasNext;
+    private final String nextCursor;
+}
@@ -4,6 +4,7 @@ import lombok.*;
 
 @Getter
 @Setter
+@ToString
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
@@ -12,4 +13,10 @@ public class MemberSearchCondition {
     private String teamName;
     private Integer ageGoe;
     private Integer ageLoe;
+    // name 검색 방식, 지정 하지 않으면 EXACT
+    private NameSearchMode nameMode;
+
+    public NameSearchMode getNameMode() {
+        return nameMode == null ? NameSearchMode.EXACT : nameMode;
+    }
 }
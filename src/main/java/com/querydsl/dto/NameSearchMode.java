@@ -0,0 +1,20 @@
+package com.querydsl.dto;
+
+/**
+ * 회원 이름 검색 방식
+ * - EXACT : name = ? (idx_member_name_age)
+ * - PREFIX : name like 'x%' (앞 부분이 고정된 like 는 인덱스 range scan)
+ * - FULLTEXT : 부분 일치, ngram FULLTEXT 인덱스 (ft_member_name)
+**/
+public enum NameSearchMode {
+    EXACT,
+    PREFIX,
+    FULLTEXT;
+
+    /**
+     * 메트릭 태그 용 이름 (ex. prefix)
+    **/
+    public String tag() {
+        return name().toLowerCase();
+    }
+}
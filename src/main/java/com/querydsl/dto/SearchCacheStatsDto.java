@@ -0,0 +1,15 @@
+package com.querydsl.dto;
+
+import lombok.*;
+
+@Getter
+@Builder
+@AllArgsConstructor
+@ToString(of = {"size","hitCount","missCount","evictionCount","hitRate"})
+public class SearchCacheStatsDto {
+    private long size;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private double hitRate;
+}
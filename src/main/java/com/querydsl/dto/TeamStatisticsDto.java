@@ -0,0 +1,30 @@
+package com.querydsl.dto;
+
+import com.querydsl.core.annotations.QueryProjection;
+import lombok.*;
+
+@Getter
+@NoArgsConstructor
+@ToString(of = {"teamId","teamName","memberCount","ageSum","minAge","maxAge"})
+public class TeamStatisticsDto {
+    private Long teamId;
+    private String teamName;
+    private long memberCount;
+    private long ageSum;
+    private Integer minAge;
+    private Integer maxAge;
+
+    @QueryProjection
+    public TeamStatisticsDto(Long teamId, String teamName, long memberCount, long ageSum, Integer minAge, Integer maxAge) {
+        this.teamId = teamId;
+        this.teamName = teamName;
+        this.memberCount = memberCount;
+        this.ageSum = ageSum;
+        this.minAge = minAge;
+        this.maxAge = maxAge;
+    }
+
+    public Double getAverageAge() {
+        return memberCount == 0 ? null : (double) ageSum / memberCount;
+    }
+}
@@ -1,7 +1,11 @@
 package com.querydsl.entity;
 
+import com.querydsl.repository.cache.MemberSearchCacheInvalidator;
+import com.querydsl.repository.stats.TeamStatisticsListener;
 import lombok.*;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 
@@ -10,6 +14,20 @@ import javax.persistence.*;
 @NoArgsConstructor(access= AccessLevel.PROTECTED)
 @ToString(of = {"id","name","age"})
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@EntityListeners({MemberSearchCacheInvalidator.class, TeamStatisticsListener.class})
+@Table(indexes = {
+        // name = ? and age between ?
+        @Index(name = "idx_member_name_age", columnList = "name, age"),
+        // 이름 정렬 지연 조인 페이징 (order by name, id) - InnoDB 보조 인덱스는 PK 를 포함하므로 (name, id)
+        // (name, age) 는 중간에 age 가 있어 id 순서를 보장 하지 못한다
+        @Index(name = "idx_member_name", columnList = "name"),
+        // age 범위 조건, keyset 페이징 (InnoDB 보조 인덱스는 PK 를 포함하므로 (age, id))
+        @Index(name = "idx_member_age", columnList = "age"),
+        // team 조인 + age 범위 조건 (team_id FK 인덱스 역할도 겸함)
+        @Index(name = "idx_member_team_age", columnList = "team_id, age")
+})
 public class Member {
     @Id
     @GeneratedValue(strategy= GenerationType.IDENTITY)
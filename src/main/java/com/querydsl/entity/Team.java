@@ -1,7 +1,11 @@
 package com.querydsl.entity;
 
+import com.querydsl.repository.cache.MemberSearchCacheInvalidator;
+import com.querydsl.repository.stats.TeamStatisticsListener;
 import lombok.*;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import java.util.ArrayList;
@@ -12,6 +16,10 @@ import java.util.List;
 @NoArgsConstructor(access= AccessLevel.PROTECTED)
 @ToString(of = {"id","name"})
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@EntityListeners({MemberSearchCacheInvalidator.class, TeamStatisticsListener.class})
+@Table(indexes = @Index(name = "idx_team_name", columnList = "name"))
 public class Team {
     @Id
     @GeneratedValue(strategy= GenerationType.IDENTITY)
@@ -19,6 +27,7 @@ public class Team {
 
     private String name;
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @OneToMany(mappedBy = "team")
     private List<Member> members = new ArrayList<>();
 
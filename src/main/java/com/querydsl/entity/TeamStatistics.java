@@ -0,0 +1,30 @@
+package com.querydsl.entity;
+
+import lombok.*;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+/**
+ * 팀 별 회원 나이 집계 (rollup)
+ * - 회원이 저장, 변경, 삭제 될 때 증분으로 갱신 (TeamStatisticsListener, 벌크 연산)
+ * - min, max 는 삭제 시 증분 계산이 불가능 하므로 (team_id, age) 인덱스 에서 다시 조회
+ * - 갱신은 TeamJpaRepository 의 insert ... on duplicate key update 로만 한다 (엔티티는 조회, 스키마 용)
+ * - team 과 연관관계(FK) 를 두지 않는다 (Team 조회 시 추가 조회, 삭제 순서 문제 방지)
+**/
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString(of = {"teamId","memberCount","ageSum","minAge","maxAge"})
+@Entity
+public class TeamStatistics {
+    @Id
+    private Long teamId;
+
+    private long memberCount;
+
+    private long ageSum;
+
+    private Integer minAge;
+
+    private Integer maxAge;
+}
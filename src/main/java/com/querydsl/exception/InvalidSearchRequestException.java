@@ -0,0 +1,21 @@
+package com.querydsl.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * 잘못된 검색 요청 (페이지 크기, 커서 등) - 400 Bad Request 로 응답
+ * - IllegalArgumentException 을 상속 하면 저장소(@Repository) 의 예외 변환 에서
+ *   InvalidDataAccessApiUsageException 으로 바뀌어 500 이 되므로 RuntimeException 을 상속
+**/
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidSearchRequestException extends RuntimeException {
+
+    public InvalidSearchRequestException(String message) {
+        super(message);
+    }
+
+    public InvalidSearchRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
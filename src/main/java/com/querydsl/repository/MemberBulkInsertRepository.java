@@ -0,0 +1,130 @@
+package com.querydsl.repository;
+
+import com.querydsl.dto.MemberInsertRow;
+import com.querydsl.entity.Team;
+import com.querydsl.repository.cache.MemberSearchCache;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * 회원 대량 적재
+ * - Member 는 IDENTITY 전략이라 em.persist 는 JDBC 배치가 동작하지 않는다 (row 마다 insert 1 번)
+ * - JdbcTemplate 으로 chunkSize 단위 배치 insert (rewriteBatchedStatements=true 이면 multi-row insert 로 변환)
+ * - 엔티티가 아닌 MemberInsertRow 로 받는다 (Member 생성자는 Team.members 에 추가 되므로 대량 적재 시 팀 컬렉션이 계속 커진다)
+ * - 엔티티 리스너를 거치지 않으므로 검색 캐시 무효화, 팀 통계 반영은 직접 호출
+ * - Hibernate 도 insert 를 알 수 없으므로 2차 캐시의 쿼리 결과, Team.members 컬렉션 캐시를 직접 무효화
+**/
+@Slf4j
+@Repository
+public class MemberBulkInsertRepository {
+    private static final String INSERT_SQL = "insert into member (name, age, team_id) values (?, ?, ?)";
+
+    private final EntityManager em;
+    private final JdbcTemplate jdbcTemplate;
+    private final MemberSearchCache memberSearchCache;
+    private final TeamJpaRepository teamJpaRepository;
+    private final int chunkSize;
+
+    public MemberBulkInsertRepository(EntityManager em,
+                                      JdbcTemplate jdbcTemplate,
+                                      MemberSearchCache memberSearchCache,
+                                      TeamJpaRepository teamJpaRepository,
+                                      @Value("${querydsl.bulk.chunk-size:1000}") int chunkSize) {
+        this.em = em;
+        this.jdbcTemplate = jdbcTemplate;
+        this.memberSearchCache = memberSearchCache;
+        this.teamJpaRepository = teamJpaRepository;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * 트랜잭션 안에서 호출 해야 한다
+     * - 배치 전 : flush (참조하는 Team 이 먼저 저장 되어 있어야 함)
+     * - rows 는 chunkSize 개씩 읽어서 batch insert 하므로 전체 목록을 메모리에 올리지 않는다
+     * - 배치 후 : 팀 통계 증분 반영 -> flush -> clear (벌크 연산과 동일하게 영속성 컨텍스트가 DB 와 달라지므로 초기화)
+    **/
+    public int insertAll(Iterable<MemberInsertRow> rows) {
+        em.flush();
+
+        Map<Long, TeamDelta> teamDeltas = new HashMap<>();
+        List<MemberInsertRow> chunk = new ArrayList<>(chunkSize);
+        int inserted = 0;
+        for (MemberInsertRow row : rows) {
+            chunk.add(row);
+            if (row.getTeamId() != null) {
+                teamDeltas.computeIfAbsent(row.getTeamId(), id -> new TeamDelta()).add(row.getAge());
+            }
+            if (chunk.size() == chunkSize) {
+                inserted += write(chunk);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            inserted += write(chunk);
+        }
+
+        teamDeltas.forEach((teamId, delta) -> teamJpaRepository.addMembers(teamId, delta.count, delta.sum, delta.min, delta.max));
+        em.flush();
+        em.clear();
+        // 엔티티 리스너를 거치지 않으므로 직접 무효화
+        memberSearchCache.evictAll();
+        evictSecondLevelCache();
+
+        log.info("member bulk insert finished. rows = {}, chunkSize = {}", inserted, chunkSize);
+        return inserted;
+    }
+
+    /**
+     * Stream 은 다 읽은 후 닫는다
+    **/
+    public int insertAll(Stream<MemberInsertRow> rows) {
+        try (rows) {
+            return insertAll((Iterable<MemberInsertRow>) rows::iterator);
+        }
+    }
+
+    private int write(List<MemberInsertRow> chunk) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, chunk, chunkSize, (ps, row) -> {
+            ps.setString(1, row.getName());
+            ps.setInt(2, row.getAge());
+            if (row.getTeamId() != null) {
+                ps.setLong(3, row.getTeamId());
+            } else {
+                ps.setNull(3, Types.BIGINT);
+            }
+        });
+        return chunk.size();
+    }
+
+    private void evictSecondLevelCache() {
+        Cache cache = em.getEntityManagerFactory().unwrap(SessionFactory.class).getCache();
+        cache.evictQueryRegions();
+        cache.evictCollectionData(Team.class.getName() + ".members");
+    }
+
+    private static class TeamDelta {
+        long count;
+        long sum;
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+
+        void add(int age) {
+            count++;
+            sum += age;
+            min = Math.min(min, age);
+            max = Math.max(max, age);
+        }
+    }
+}
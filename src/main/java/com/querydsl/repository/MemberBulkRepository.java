@@ -0,0 +1,227 @@
+package com.querydsl.repository;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.dto.BulkProgress;
+import com.querydsl.dto.MemberSearchCondition;
+import com.querydsl.entity.Member;
+import com.querydsl.entity.Team;
+import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.querydsl.repository.cache.MemberSearchCache;
+import com.querydsl.repository.support.MemberSearchPredicates;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static com.querydsl.entity.QMember.member;
+import static com.querydsl.entity.QTeam.team;
+
+/**
+ * chunk 단위 벌크 연산
+ * - update(member), delete(member) 를 한번에 실행하면 대상 row 전체에 락이 걸리고 undo log 가 커진다
+ * - 대상 id 범위를 chunkSize 단위로 나눠서 chunk 마다 별도 트랜잭션(REQUIRES_NEW) 으로 커밋
+ * - 팀 통계는 chunk 트랜잭션 안에서 chunk id 범위의 팀 별 count, sum 을 연산 전후로 비교해 증분 반영
+ *   (chunk 크기 만큼만 읽는다, 팀 전체 재집계 없음. chunk 커밋과 함께 반영)
+ * - 벌크 연산은 영속성 컨텍스트를 거치지 않으므로 시작 전에 호출 측 변경 내용을 flush,
+ *   완료 후 호출 측 영속성 컨텍스트의 Member, Team 을 준영속 처리
+ * - chunk 트랜잭션은 호출 측 트랜잭션과 다른 커넥션 이므로, 호출 측에서 같은 row 를 수정 중 이라면 락 대기가 발생
+ *   (트랜잭션 밖에서 호출 하는 것을 권장)
+**/
+@Slf4j
+@Repository
+public class MemberBulkRepository {
+    private final EntityManager em;
+    private final JPAQueryFactory queryFactory;
+    private final TransactionTemplate chunkTransaction;
+    private final MemberSearchCache memberSearchCache;
+    private final TeamJpaRepository teamJpaRepository;
+    private final int chunkSize;
+
+    public MemberBulkRepository(EntityManager em,
+                                PlatformTransactionManager transactionManager,
+                                MemberSearchCache memberSearchCache,
+                                TeamJpaRepository teamJpaRepository,
+                                @Value("${querydsl.bulk.chunk-size:1000}") int chunkSize) {
+        this.em = em;
+        this.queryFactory = new JPAQueryFactory(em);
+        this.memberSearchCache = memberSearchCache;
+        this.teamJpaRepository = teamJpaRepository;
+        this.chunkSize = chunkSize;
+
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * 조건에 맞는 회원 나이 + delta
+    **/
+    public long incrementAge(MemberSearchCondition condition, int delta, Consumer<BulkProgress> listener) {
+        return execute("incrementAge", condition, listener, range -> queryFactory
+                .update(member)
+                .set(member.age, member.age.add(delta))
+                .where(range)
+                .execute());
+    }
+
+    /**
+     * 조건에 맞는 회원 삭제
+    **/
+    public long delete(MemberSearchCondition condition, Consumer<BulkProgress> listener) {
+        return execute("delete", condition, listener, range -> queryFactory
+                .delete(member)
+                .where(range)
+                .execute());
+    }
+
+    private long execute(String operation, MemberSearchCondition condition,
+                         Consumer<BulkProgress> listener, Function<Predicate, Long> chunkOperation) {
+        Predicate[] where = where(condition);
+        flushCallerChanges();
+
+        Tuple idRange = chunkTransaction.execute(status -> queryFactory
+                .select(member.id.min(), member.id.max())
+                .from(member)
+                .where(where)
+                .fetchOne());
+
+        Long minId = idRange == null ? null : idRange.get(0, Long.class);
+        Long maxId = idRange == null ? null : idRange.get(1, Long.class);
+        if (minId == null || maxId == null) {
+            return 0;
+        }
+
+        long totalChunks = (maxId - minId) / chunkSize + 1;
+        long affectedRows = 0;
+        long chunk = 0;
+
+        for (long from = minId; from <= maxId; from += chunkSize) {
+            long chunkFrom = from;
+            long chunkTo = Math.min(from + chunkSize - 1, maxId);
+            Predicate range = member.id.between(chunkFrom, chunkTo).and(ExpressionUtils.allOf(where));
+
+            Long affected = chunkTransaction.execute(status -> {
+                Map<Long, long[]> before = teamAggregates(chunkFrom, chunkTo, true);
+                Long rows = chunkOperation.apply(range);
+                applyTeamDeltas(before, teamAggregates(chunkFrom, chunkTo, false));
+                return rows;
+            });
+            affectedRows += affected == null ? 0 : affected;
+            chunk++;
+
+            // chunk 가 커밋 될 때마다 캐시 무효화 (엔티티 리스너를 거치지 않음)
+            memberSearchCache.evictAll();
+
+            BulkProgress progress = new BulkProgress(operation, chunk, totalChunks, affectedRows);
+            log.debug("member bulk progress = {}", progress);
+            if (listener != null) {
+                listener.accept(progress);
+            }
+        }
+
+        detachManagedEntities();
+        log.info("member bulk {} finished. chunks = {}, affectedRows = {}", operation, chunk, affectedRows);
+        return affectedRows;
+    }
+
+    /**
+     * chunk id 범위의 팀 별 (count, ageSum)
+     * - 조건이 아니라 id 범위 전체로 집계 (연산 후 조건에서 벗어난 row 도 같은 범위로 비교, 대상이 아닌 row 는 상쇄)
+     * - 연산 전 집계는 for update 로 범위를 잠가서 연산 전후 사이에 다른 트랜잭션의 변경이 섞이지 않게 한다
+    **/
+    @SuppressWarnings("unchecked")
+    private Map<Long, long[]> teamAggregates(long from, long to, boolean lock) {
+        List<Object[]> rows = em.createNativeQuery("select m.team_id, count(*), coalesce(sum(m.age), 0) from member m"
+                        + " where m.id between ? and ? and m.team_id is not null group by m.team_id"
+                        + (lock ? " for update" : ""))
+                .setParameter(1, from)
+                .setParameter(2, to)
+                .getResultList();
+
+        Map<Long, long[]> aggregates = new HashMap<>();
+        for (Object[] row : rows) {
+            aggregates.put(((Number) row[0]).longValue(),
+                    new long[]{((Number) row[1]).longValue(), ((Number) row[2]).longValue()});
+        }
+        return aggregates;
+    }
+
+    private void applyTeamDeltas(Map<Long, long[]> before, Map<Long, long[]> after) {
+        Set<Long> teamIds = new HashSet<>(before.keySet());
+        teamIds.addAll(after.keySet());
+
+        long[] empty = {0, 0};
+        for (Long teamId : teamIds) {
+            long[] previous = before.getOrDefault(teamId, empty);
+            long[] current = after.getOrDefault(teamId, empty);
+            long countDelta = current[0] - previous[0];
+            long ageSumDelta = current[1] - previous[1];
+            if (countDelta != 0 || ageSumDelta != 0) {
+                teamJpaRepository.changeMembers(teamId, countDelta, ageSumDelta);
+            }
+        }
+    }
+
+    /**
+     * 벌크 update, delete 는 조인을 쓸 수 없으므로 teamName 은 서브 쿼리로 변환
+    **/
+    private Predicate[] where(MemberSearchCondition condition) {
+        return new Predicate[]{
+                MemberSearchPredicates.name(condition),
+                StringUtils.hasText(condition.getTeamName())
+                        ? member.team.id.in(JPAExpressions
+                                .select(team.id)
+                                .from(team)
+                                .where(team.name.eq(condition.getTeamName())))
+                        : null,
+                MemberSearchPredicates.ageGoe(condition.getAgeGoe()),
+                MemberSearchPredicates.ageLoe(condition.getAgeLoe())
+        };
+    }
+
+    /**
+     * 호출 측 트랜잭션의 변경 내용을 먼저 DB 에 반영
+     * - 완료 후 준영속 처리 하면 flush 되지 않은 Member, Team 변경 내용은 사라진다
+    **/
+    private void flushCallerChanges() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            em.flush();
+        }
+    }
+
+    /**
+     * 호출 측 트랜잭션이 있다면 그 영속성 컨텍스트의 Member, Team 은 DB 와 달라졌으므로 준영속 처리
+     * - 변경 내용은 시작 전에 flush 되었으므로 준영속 처리 해도 잃지 않는다
+     * - em.clear() 와 달리 다른 엔티티는 영속 상태 유지
+    **/
+    private void detachManagedEntities() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return;
+        }
+
+        List<Object> stale = new ArrayList<>();
+        for (Object entity : em.unwrap(SessionImplementor.class).getPersistenceContext().getEntitiesByKey().values()) {
+            if (entity instanceof Member || entity instanceof Team) {
+                stale.add(entity);
+            }
+        }
+        stale.forEach(em::detach);
+    }
+}
@@ -0,0 +1,45 @@
+package com.querydsl.repository;
+
+import com.querydsl.dto.MemberColumns;
+import com.querydsl.dto.MemberSearchCondition;
+import com.querydsl.repository.support.MemberColumnsCollector;
+import com.querydsl.repository.support.MemberQueryMetrics;
+import com.querydsl.repository.support.MemberSearchNativeSql;
+import com.querydsl.repository.support.MemberSearchShape;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+
+/**
+ * 컬럼 형식 검색 (대량 분석 조회)
+ * - JPA, Querydsl Tuple, MemberTeamDto 를 거치지 않고 ResultSet 에서 바로 원시 타입 배열로 채운다
+ * - 검색 조건은 MemberSearchNativeSql (다른 검색과 같은 조건, 인덱스)
+ * - fetchSize 단위로 서버 커서에서 읽으므로 드라이버가 전체 결과를 한번에 메모리에 올리지 않는다
+**/
+@Repository
+@Transactional(readOnly = true)
+public class MemberColumnarRepository {
+    private final JdbcTemplate jdbcTemplate;
+    private final MemberQueryMetrics metrics;
+
+    public MemberColumnarRepository(DataSource dataSource,
+                                    MemberQueryMetrics metrics,
+                                    @Value("${querydsl.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.metrics = metrics;
+    }
+
+    public MemberColumns search(MemberSearchCondition condition) {
+        MemberSearchShape shape = MemberSearchShape.of(condition);
+        return metrics.content("searchColumns", shape, () -> {
+            MemberColumnsCollector collector = new MemberColumnsCollector();
+            jdbcTemplate.query(MemberSearchNativeSql.selectColumnar(shape), collector,
+                    MemberSearchNativeSql.params(condition).toArray());
+            return collector.toColumns();
+        }, MemberColumns::getSize);
+    }
+}
@@ -3,14 +3,23 @@ package com.querydsl.repository;
 import com.querydsl.core.BooleanBuilder;
 import com.querydsl.core.types.Predicate;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.dto.MemberDto;
+import com.querydsl.dto.MemberInsertRow;
 import com.querydsl.dto.MemberSearchCondition;
 import com.querydsl.dto.MemberTeamDto;
+import com.querydsl.dto.QMemberDto;
 import com.querydsl.dto.QMemberTeamDto;
 import com.querydsl.entity.Member;
 import com.querydsl.entity.QTeam;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.querydsl.repository.support.BatchUnitOfWork;
+import com.querydsl.repository.support.MemberQueryMetrics;
+import com.querydsl.repository.support.MemberSearchJpql;
+import com.querydsl.repository.support.MemberSearchPredicates;
+import com.querydsl.repository.support.MemberSearchShape;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import javax.persistence.EntityManager;
@@ -20,55 +29,126 @@ import java.util.Optional;
 import static com.querydsl.entity.QMember.member;
 import static com.querydsl.entity.QTeam.team;
 
+/**
+ * 조회는 읽기 전용 트랜잭션 (replica 가 설정 되어 있으면 replica 로 라우팅, ReplicaDataSourceConfig)
+ * - save, saveAll 은 primary
+**/
 @Repository
+@Transactional(readOnly = true)
 public class MemberJpaRepository {
 
     private final EntityManager em;
     private final JPAQueryFactory queryFactory;
-
-    public MemberJpaRepository(@Autowired EntityManager em) {
+    private final MemberQueryMetrics metrics;
+    private final BatchUnitOfWork unitOfWork;
+    private final MemberBulkInsertRepository memberBulkInsertRepository;
+
+    public MemberJpaRepository(@Autowired EntityManager em,
+                               @Autowired MemberQueryMetrics metrics,
+                               @Autowired BatchUnitOfWork unitOfWork,
+                               @Autowired MemberBulkInsertRepository memberBulkInsertRepository) {
         this.em = em;
         this.queryFactory = new JPAQueryFactory(em);
+        this.metrics = metrics;
+        this.unitOfWork = unitOfWork;
+        this.memberBulkInsertRepository = memberBulkInsertRepository;
     }
 
+    @Transactional
     public void save(Member member) {
-        em.persist(member);
+        metrics.write("save", 1, () -> em.persist(member));
     }
 
+    /**
+     * 목록이 크면 flush-interval 개 마다 flush -> detach (BatchUnitOfWork), 앞에서 저장한 회원은 준영속
+    **/
+    @Transactional
     public void saveAll(List<Member> members) {
-        for (Member member : members) {
-            em.persist(member);
-        }
+        metrics.write("saveAll", members.size(), () -> unitOfWork.persistAll("saveAll", members));
+    }
+
+    /**
+     * 대량 저장 - JDBC 배치 insert (MemberBulkInsertRepository)
+     * - rows 를 chunk 단위로 읽으므로 전체 목록을 메모리에 만들 필요가 없다
+     * - 영속성 컨텍스트를 거치지 않으므로 저장된 회원의 id 는 알 수 없다
+    **/
+    @Transactional
+    public int saveAllBatch(Iterable<MemberInsertRow> rows) {
+        return metrics.write("saveAllBatch", () -> memberBulkInsertRepository.insertAll(rows));
     }
 
     public Optional<Member> findMemberById(Long id) {
-        Member findMember = em.find(Member.class,id);
+        Member findMember = metrics.single("findMemberById", null, () -> em.find(Member.class,id));
         return Optional.ofNullable(findMember);
     }
 
     public List<Member> findAll() {
-        return em.createQuery("select m from Member m",Member.class)
-                .getResultList();
+        return metrics.content("findAll", null, () -> em.createQuery("select m from Member m",Member.class)
+                .getResultList());
     }
 
     public List<Member> findMemberByName(String name) {
-        return em.createQuery("select m from Member m where m.name = :nane", Member.class)
-                .getResultList();
+        return metrics.content("findMemberByName", null, () -> em.createQuery("select m from Member m where m.name = :nane", Member.class)
+                .getResultList());
     }
 
 
     public List<Member> findAll_queryDsl() {
-        return queryFactory
+        return metrics.content("findAll_queryDsl", null, () -> queryFactory
                 .selectFrom(member)
-                .fetch();
+                .fetch());
     }
 
     public List<Member> findMemberByName_queryDsl(String name) {
-        return queryFactory
+        return metrics.content("findMemberByName_queryDsl", null, () -> queryFactory
                 .selectFrom(member)
                 .where(member.name.eq(name))
                 .from(member)
-                .fetch();
+                .fetch());
+    }
+
+    /**
+     * 조회 전용 DTO 프로젝션 (findAll, findAll_queryDsl, findMemberByName_queryDsl 대응)
+     * - 엔티티가 아니므로 영속성 컨텍스트에 등록, 변경 감지용 스냅샷 생성을 하지 않는다
+    **/
+    public List<MemberDto> findAllDto() {
+        return metrics.content("findAllDto", null, () -> em.createQuery(
+                        "select new " + MemberDto.class.getName() + "(m.name, m.age) from Member m", MemberDto.class)
+                .getResultList());
+    }
+
+    public List<MemberDto> findAllDto_queryDsl() {
+        return metrics.content("findAllDto_queryDsl", null, () -> queryFactory
+                .select(new QMemberDto(member.name, member.age))
+                .from(member)
+                .fetch());
+    }
+
+    public List<MemberDto> findDtoByName_queryDsl(String name) {
+        return metrics.content("findDtoByName_queryDsl", null, () -> queryFactory
+                .select(new QMemberDto(member.name, member.age))
+                .from(member)
+                .where(member.name.eq(name))
+                .fetch());
+    }
+
+    /**
+     * fetch join - member.team 을 한번의 쿼리로 함께 조회 (N+1 방지)
+     * - team 이 없는 회원도 포함 하도록 left join
+    **/
+    public List<Member> findAllWithTeam_queryDsl() {
+        return metrics.content("findAllWithTeam_queryDsl", null, () -> queryFactory
+                .selectFrom(member)
+                .leftJoin(member.team, team).fetchJoin()
+                .fetch());
+    }
+
+    public List<Member> findMemberByNameWithTeam_queryDsl(String name) {
+        return metrics.content("findMemberByNameWithTeam_queryDsl", null, () -> queryFactory
+                .selectFrom(member)
+                .leftJoin(member.team, team).fetchJoin()
+                .where(member.name.eq(name))
+                .fetch());
     }
 
     /**
@@ -81,7 +161,7 @@ public class MemberJpaRepository {
         BooleanBuilder booleanBuilder = new BooleanBuilder();
 
         if(StringUtils.hasText(condition.getName())) {
-            booleanBuilder.and(member.name.eq(condition.getName()));
+            booleanBuilder.and(MemberSearchPredicates.name(condition));
         }
 
         if(StringUtils.hasText(condition.getTeamName())) {
@@ -96,7 +176,7 @@ public class MemberJpaRepository {
             booleanBuilder.and(member.age.loe(condition.getAgeLoe()));
         }
 
-        return queryFactory
+        return metrics.content("searchByBuilder", MemberSearchShape.of(condition), () -> queryFactory
                 .select(new QMemberTeamDto(
                         member.id,
                         member.name,
@@ -106,12 +186,12 @@ public class MemberJpaRepository {
                 .from(member)
                 .leftJoin(member.team, team)
                 .where(booleanBuilder)
-                .fetch();
+                .fetch());
     }
 
     // 2. 다중 Where 동적 쿼리
     public List<MemberTeamDto> searchByWhere(MemberSearchCondition condition) {
-        return queryFactory
+        return metrics.content("searchByWhere", MemberSearchShape.of(condition), () -> queryFactory
                 .select(new QMemberTeamDto(
                         member.id,
                         member.name,
@@ -122,31 +202,40 @@ public class MemberJpaRepository {
                 .from(member)
                 .leftJoin(member.team,team)
                 .where(
-                        usernameEq(condition.getName()),
+                        usernameMatches(condition),
                         teamnameEq(condition.getTeamName()),
                         ageGoe(condition.getAgeGoe()),
                         ageLoe(condition.getAgeLoe())
                 )
-                .fetch();
+                .fetch());
     }
 
+    // 3. 조건 모양 별로 미리 만든 JPQL 재사용 (파라미터만 바인딩)
+    public List<MemberTeamDto> searchByShape(MemberSearchCondition condition) {
+        MemberSearchShape shape = MemberSearchShape.of(condition);
+        return metrics.content("searchByShape", shape, () -> MemberSearchJpql.bind(
+                        em.createQuery(MemberSearchJpql.select(shape), MemberTeamDto.class),
+                        shape,
+                        condition)
+                .getResultList());
+    }
 
     /**
      * 메소드 재사용 가능
     **/
-    private BooleanExpression usernameEq(String name) {
-        return StringUtils.hasText(name)? member.name.eq(name) : null;
+    private BooleanExpression usernameMatches(MemberSearchCondition condition) {
+        return MemberSearchPredicates.name(condition);
     }
 
     private BooleanExpression teamnameEq(String teamName) {
-        return StringUtils.hasText(teamName)? team.name.eq(teamName) : null;
+        return MemberSearchPredicates.teamNameEq(teamName);
     }
 
     private BooleanExpression ageGoe(Integer age) {
-        return age != null ? member.age.goe(age) : null;
+        return MemberSearchPredicates.ageGoe(age);
     }
 
     private BooleanExpression ageLoe(Integer age) {
-        return age != null ? member.age.loe(age) : null;
+        return MemberSearchPredicates.ageLoe(age);
     }
 }
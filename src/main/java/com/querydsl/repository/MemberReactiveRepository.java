@@ -0,0 +1,76 @@
+package com.querydsl.repository;
+
+import com.querydsl.dto.MemberSearchCondition;
+import com.querydsl.dto.MemberTeamDto;
+import com.querydsl.repository.support.MemberQueryMetrics;
+import com.querydsl.repository.support.MemberSearchNativeSql;
+import com.querydsl.repository.support.MemberSearchShape;
+import com.querydsl.repository.support.SearchConditionContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
+
+/**
+ * Flux 검색 (MVC 에서 스트리밍 응답)
+ * - 논블로킹이 아니라 블로킹 JDBC 를 다른 스레드로 옮긴 것 (offloading)
+ *   boundedElastic 스케줄러 에서 커서를 읽고, 요청 처리 스레드(Tomcat) 만 바로 반환
+ * - 구독 하는 동안 커넥션, 서버 커서, boundedElastic 스레드를 하나씩 점유 한다 (느린 클라이언트 = 긴 점유)
+ *   동시 구독 수는 결국 Hikari 풀 크기, boundedElastic 스레드 수로 제한 된다
+ * - 구독자가 요청한 만큼만 커서에서 읽는다 (backpressure, fetchSize 단위로 서버 커서에서 가져옴)
+ * - 점유 시간 제한 : idle-timeout 동안 다음 row 를 내보내지 못하면 (클라이언트가 읽지 않으면),
+ *   구독이 max-duration 을 넘기면 TimeoutException 으로 종료
+ * - 완료, 에러, 타임아웃, 취소(클라이언트 연결 종료) 시 Stream 을 닫아서 커넥션 반납
+ * - 쿼리는 스케줄러 스레드 에서 실행 되므로 검색 조건(SearchConditionContext) 을 다시 적용
+ * - 트랜잭션 밖에서 커넥션을 직접 얻으므로 JPA 영속성 컨텍스트와 무관
+**/
+@Repository
+public class MemberReactiveRepository {
+    private static final RowMapper<MemberTeamDto> ROW_MAPPER = (rs, rowNum) -> new MemberTeamDto(
+            rs.getLong(1),
+            rs.getString(2),
+            rs.getInt(3),
+            rs.getObject(4, Long.class),
+            rs.getString(5));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MemberQueryMetrics metrics;
+    private final Duration idleTimeout;
+    private final Duration maxDuration;
+
+    public MemberReactiveRepository(DataSource dataSource,
+                                    MemberQueryMetrics metrics,
+                                    @Value("${querydsl.export.fetch-size:1000}") int fetchSize,
+                                    @Value("${querydsl.reactive.idle-timeout:10s}") Duration idleTimeout,
+                                    @Value("${querydsl.reactive.max-duration:60s}") Duration maxDuration) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.metrics = metrics;
+        this.idleTimeout = idleTimeout;
+        this.maxDuration = maxDuration;
+    }
+
+    public Flux<MemberTeamDto> search(MemberSearchCondition condition) {
+        MemberSearchShape shape = MemberSearchShape.of(condition);
+        return Flux.using(
+                        () -> SearchConditionContext.with(condition, () -> metrics.stream("searchFlux", shape,
+                                () -> jdbcTemplate.queryForStream(
+                                        MemberSearchNativeSql.select(shape),
+                                        ROW_MAPPER,
+                                        MemberSearchNativeSql.params(condition).toArray()))),
+                        Flux::fromStream,
+                        Stream::close)
+                .subscribeOn(Schedulers.boundedElastic())
+                .timeout(idleTimeout)
+                .takeUntilOther(Mono.delay(maxDuration).then(Mono.error(() ->
+                        new TimeoutException("member stream exceeded " + maxDuration))));
+    }
+}
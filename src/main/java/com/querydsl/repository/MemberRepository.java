@@ -1,11 +1,36 @@
 package com.querydsl.repository;
 
 import com.querydsl.entity.Member;
+import com.querydsl.repository.custom.MemberAsyncPageRepository;
 import com.querydsl.repository.custom.MemberRepositoryCustom;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 
-public interface MemberRepository extends JpaRepository<Member, Long>, MemberRepositoryCustom {
+public interface MemberRepository extends JpaRepository<Member, Long>, MemberRepositoryCustom, MemberAsyncPageRepository {
+    String FIND_BY_NAME_CACHE_REGION = "query.memberByName";
+
+    /**
+     * 쿼리 캐시 (2차 캐시 사용 시) - 결과 id 목록을 캐시, 엔티티는 Member region 에서 조회
+     * - member 테이블이 변경 되면 (update timestamps) 자동 무효화
+    **/
+    @QueryHints({
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHE_REGION, value = FIND_BY_NAME_CACHE_REGION)
+    })
     List<Member> findByName(String name);
+
+    /**
+     * 엔티티 그래프 - member.team 을 fetch join 으로 함께 조회
+    **/
+    @EntityGraph(attributePaths = "team")
+    List<Member> findWithTeamByName(String name);
+
+    @EntityGraph(attributePaths = "team")
+    @Query("select m from Member m")
+    List<Member> findAllWithTeam();
 }
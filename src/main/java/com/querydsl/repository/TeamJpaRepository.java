@@ -1,7 +1,141 @@
 package com.querydsl.repository;
 
+import com.querydsl.dto.QTeamStatisticsDto;
+import com.querydsl.dto.TeamStatisticsDto;
+import com.querydsl.entity.TeamStatistics;
+import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.hibernate.query.NativeQuery;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.Collection;
+import java.util.List;
+
+import static com.querydsl.entity.QTeam.team;
+import static com.querydsl.entity.QTeamStatistics.teamStatistics;
 
 @Repository
 public class TeamJpaRepository {
+
+    private final EntityManager em;
+    private final JPAQueryFactory queryFactory;
+
+    public TeamJpaRepository(@Autowired EntityManager em) {
+        this.em = em;
+        this.queryFactory = new JPAQueryFactory(em);
+    }
+
+    /**
+     * 팀 별 통계 - member 를 group by 하지 않고 집계 테이블만 조회 (O(팀 수))
+    **/
+    public List<TeamStatisticsDto> findAllStatistics() {
+        return queryFactory
+                .select(new QTeamStatisticsDto(
+                        team.id,
+                        team.name,
+                        teamStatistics.memberCount.coalesce(0L),
+                        teamStatistics.ageSum.coalesce(0L),
+                        teamStatistics.minAge,
+                        teamStatistics.maxAge))
+                .from(team)
+                .leftJoin(teamStatistics).on(teamStatistics.teamId.eq(team.id))
+                .orderBy(team.id.asc())
+                .fetch();
+    }
+
+    /**
+     * 팀 생성 시 빈 집계 row 생성 (이미 있으면 그대로)
+     * - 이후의 증분 반영은 row 가 있다고 가정한다 (팀 생성 이전의 데이터는 recalculateAll 로 복구)
+    **/
+    public void createStatistics(Long teamId) {
+        upsert("insert into team_statistics (team_id, member_count, age_sum, min_age, max_age) values (?, 0, 0, null, null)"
+                        + " on duplicate key update team_id = team_id",
+                teamId);
+    }
+
+    /**
+     * 회원 추가 - 증분 반영
+     * - insert ... on duplicate key update 한 문장 이므로 없는 row 를 먼저 잠그지 않는다
+     *   (없는 row 의 select ... for update 는 MySQL 에서 gap lock -> 동시 첫 insert 끼리 deadlock, 중복 키)
+    **/
+    public void addMembers(Long teamId, long count, long ageSum, int minAge, int maxAge) {
+        upsert("insert into team_statistics (team_id, member_count, age_sum, min_age, max_age) values (?, ?, ?, ?, ?)"
+                        + " on duplicate key update member_count = member_count + values(member_count),"
+                        + " age_sum = age_sum + values(age_sum),"
+                        + " min_age = least(coalesce(min_age, values(min_age)), values(min_age)),"
+                        + " max_age = greatest(coalesce(max_age, values(max_age)), values(max_age))",
+                teamId, count, ageSum, minAge, maxAge);
+    }
+
+    /**
+     * 회원 변경, 삭제 - count, ageSum 은 증분, min, max 는 증분 계산이 불가능 하므로 member 에서 다시 조회
+     * - min(age), max(age) where team_id = ? 는 (team_id, age) 인덱스 양 끝만 읽는다 (팀 크기와 무관)
+     * - 호출 전에 member 변경 내용이 DB 에 반영 되어 있어야 한다
+    **/
+    public void changeMembers(Long teamId, long countDelta, long ageSumDelta) {
+        upsert("insert into team_statistics (team_id, member_count, age_sum, min_age, max_age) values (?, ?, ?,"
+                        + " (select min(m.age) from member m where m.team_id = ?),"
+                        + " (select max(m.age) from member m where m.team_id = ?))"
+                        + " on duplicate key update member_count = member_count + values(member_count),"
+                        + " age_sum = age_sum + values(age_sum),"
+                        + " min_age = values(min_age),"
+                        + " max_age = values(max_age)",
+                teamId, countDelta, ageSumDelta, teamId, teamId);
+    }
+
+    /**
+     * 지정한 팀만 member 에서 다시 집계 (team_id, age 인덱스 만으로 계산) - 복구 용 (recalculateAll)
+    **/
+    private void recalculate(Collection<Long> teamIds) {
+        for (Long teamId : teamIds) {
+            upsert("insert into team_statistics (team_id, member_count, age_sum, min_age, max_age) values (?,"
+                            + " (select count(*) from member m where m.team_id = ?),"
+                            + " (select coalesce(sum(m.age), 0) from member m where m.team_id = ?),"
+                            + " (select min(m.age) from member m where m.team_id = ?),"
+                            + " (select max(m.age) from member m where m.team_id = ?))"
+                            + " on duplicate key update member_count = values(member_count),"
+                            + " age_sum = values(age_sum),"
+                            + " min_age = values(min_age),"
+                            + " max_age = values(max_age)",
+                    teamId, teamId, teamId, teamId, teamId);
+        }
+    }
+
+    /**
+     * 전체 재집계 (초기 적재, 복구 용)
+    **/
+    @Transactional
+    public void recalculateAll() {
+        queryFactory
+                .delete(teamStatistics)
+                .where(teamStatistics.teamId.notIn(JPAExpressions.select(team.id).from(team)))
+                .execute();
+        recalculate(queryFactory.select(team.id).from(team).fetch());
+    }
+
+    public void removeStatistics(Long teamId) {
+        queryFactory
+                .delete(teamStatistics)
+                .where(teamStatistics.teamId.eq(teamId))
+                .execute();
+    }
+
+    public void flush() {
+        em.flush();
+    }
+
+    /**
+     * 네이티브 쿼리는 대상 테이블을 알려주지 않으면 Hibernate 가 2차 캐시 전체를 무효화 한다
+    **/
+    private void upsert(String sql, Object... params) {
+        NativeQuery<?> query = em.createNativeQuery(sql).unwrap(NativeQuery.class);
+        for (int i = 0; i < params.length; i++) {
+            query.setParameter(i + 1, params[i]);
+        }
+        query.addSynchronizedEntityClass(TeamStatistics.class)
+                .executeUpdate();
+    }
 }
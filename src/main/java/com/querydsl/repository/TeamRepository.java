@@ -1,7 +1,18 @@
 package com.querydsl.repository;
 
 import com.querydsl.entity.Team;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 public interface TeamRepository extends JpaRepository<Team,Long> {
+
+    /**
+     * 컬렉션 fetch join 은 row 가 회원 수 만큼 늘어나므로 distinct, 페이징 불가
+    **/
+    @EntityGraph(attributePaths = "members")
+    @Query("select distinct t from Team t")
+    List<Team> findAllWithMembers();
 }
@@ -0,0 +1,120 @@
+package com.querydsl.repository.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.querydsl.config.ReplicaRouting;
+import com.querydsl.dto.MemberSearchCondition;
+import com.querydsl.dto.MemberTeamDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 검색 조건 단위 read-through 결과 캐시
+ * - 크기(maximum-size) 와 TTL(expire-after-write) 로 제거
+ * - Member, Team 이 변경 되면 전체 무효화 (어떤 조건의 결과가 바뀌는지 알 수 없으므로)
+ * - hit, miss, eviction 은 cache.* 메트릭 (cache=memberSearch) 으로도 노출
+ * - primary 강제 (ReplicaRouting.primary(...)) 조회는 캐시를 거치지 않는다 (read-your-writes)
+**/
+@Slf4j
+@Component
+public class MemberSearchCache implements MeterBinder {
+    private final Cache<MemberSearchCacheKey, List<MemberTeamDto>> cache;
+    // 트랜잭션 별 markDirty 등록 여부 (evictAll 의 리소스 키와 구분)
+    private final Object dirtyKey = new Object();
+
+    public MemberSearchCache(@Value("${querydsl.search-cache.maximum-size:10000}") long maximumSize,
+                             @Value("${querydsl.search-cache.expire-after-write:30s}") Duration expireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 캐시에 없으면 loader 로 조회 후 저장
+     * - 반환 되는 List 는 여러 요청이 공유 하므로 수정 불가
+     * - primary 강제 중 이면 캐시를 읽지도 저장 하지도 않고 loader 로 바로 조회
+     *   (캐시 된 결과는 커밋 직후의 변경을 반영 하지 못할 수 있다)
+    **/
+    public List<MemberTeamDto> get(MemberSearchCondition condition,
+                                   Function<MemberSearchCondition, List<MemberTeamDto>> loader) {
+        if (ReplicaRouting.isPrimaryForced()) {
+            return List.copyOf(loader.apply(condition));
+        }
+        return cache.get(MemberSearchCacheKey.of(condition), key -> List.copyOf(loader.apply(condition)));
+    }
+
+    /**
+     * 벌크 연산 (영속성 컨텍스트를 거치지 않음, 이미 커밋 된 chunk 등)
+     * - 즉시 무효화 하고, 트랜잭션 안이라면 트랜잭션 종료 후 한번 더 무효화
+     * - 커밋 전에 다른 요청이 이전 상태를 다시 캐시 하는 경우를 막는다
+    **/
+    public void evictAll() {
+        cache.invalidateAll();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && !TransactionSynchronizationManager.hasResource(this)) {
+            TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(MemberSearchCache.this);
+                    cache.invalidateAll();
+                }
+            });
+        }
+    }
+
+    /**
+     * 엔티티 변경 (MemberSearchCacheInvalidator)
+     * - 트랜잭션 안 : 변경 건수와 관계 없이 커밋 후 한번만 무효화 (롤백 이면 DB 가 그대로 이므로 무효화 하지 않음)
+     * - 트랜잭션 밖 : 즉시 무효화
+    **/
+    public void markDirty() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.invalidateAll();
+            return;
+        }
+        if (TransactionSynchronizationManager.hasResource(dirtyKey)) {
+            return;
+        }
+
+        TransactionSynchronizationManager.bindResource(dirtyKey, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.invalidateAll();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(dirtyKey);
+            }
+        });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "memberSearch");
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+}
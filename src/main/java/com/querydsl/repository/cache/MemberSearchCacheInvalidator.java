@@ -0,0 +1,26 @@
+package com.querydsl.repository.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * Member, Team 엔티티 리스너
+ * - save, saveAll, 변경 감지, remove 로 엔티티가 바뀌면 dirty 표시, 커밋 후 한번만 검색 캐시 무효화
+ * - 벌크 연산(update, delete) 은 영속성 컨텍스트를 거치지 않으므로 직접 evictAll 을 호출 해야 한다
+**/
+@Component
+@RequiredArgsConstructor
+public class MemberSearchCacheInvalidator {
+    private final MemberSearchCache memberSearchCache;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        memberSearchCache.markDirty();
+    }
+}
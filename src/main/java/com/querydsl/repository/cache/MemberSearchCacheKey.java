@@ -0,0 +1,35 @@
+package com.querydsl.repository.cache;
+
+import com.querydsl.dto.MemberSearchCondition;
+import com.querydsl.dto.NameSearchMode;
+import lombok.Value;
+import org.springframework.util.StringUtils;
+
+/**
+ * 캐시 키로 사용하는 정규화 된 검색 조건
+ * - MemberSearchCondition 은 setter 가 있는 가변 객체이므로 키로 직접 사용하지 않는다
+ * - 빈 문자열은 조건이 없는 것과 동일하게 취급 (nameEq, teamNameEq 와 동일한 규칙)
+**/
+@Value
+public class MemberSearchCacheKey {
+    String name;
+    String teamName;
+    Integer ageGoe;
+    Integer ageLoe;
+    // name 이 없으면 검색 방식은 의미가 없으므로 null
+    NameSearchMode nameMode;
+
+    public static MemberSearchCacheKey of(MemberSearchCondition condition) {
+        String name = normalize(condition.getName());
+        return new MemberSearchCacheKey(
+                name,
+                normalize(condition.getTeamName()),
+                condition.getAgeGoe(),
+                condition.getAgeLoe(),
+                name == null ? null : condition.getNameMode());
+    }
+
+    private static String normalize(String value) {
+        return StringUtils.hasText(value) ? value : null;
+    }
+}
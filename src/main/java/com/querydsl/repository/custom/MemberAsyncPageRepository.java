@@ -0,0 +1,15 @@
+package com.querydsl.repository.custom;
+
+import com.querydsl.dto.MemberSearchCondition;
+import com.querydsl.dto.MemberTeamDto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 컨텐츠 쿼리와 카운트 쿼리를 동시에 실행하는 페이징
+**/
+public interface MemberAsyncPageRepository {
+    CompletableFuture<Page<MemberTeamDto>> searchPageAsync(MemberSearchCondition condition, Pageable pageable);
+}
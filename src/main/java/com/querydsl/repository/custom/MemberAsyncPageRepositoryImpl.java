@@ -0,0 +1,233 @@
+package com.querydsl.repository.custom;
+
+import com.querydsl.config.ReplicaRouting;
+import com.querydsl.dto.MemberSearchCondition;
+import com.querydsl.dto.MemberTeamDto;
+import com.querydsl.dto.QMemberTeamDto;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.querydsl.repository.support.MemberCountEstimator;
+import com.querydsl.repository.support.MemberQueryMetrics;
+import com.querydsl.repository.support.MemberSearchPredicates;
+import com.querydsl.repository.support.MemberSearchShape;
+import com.querydsl.repository.support.PageTotals;
+import com.querydsl.repository.support.SearchConditionContext;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static com.querydsl.entity.QMember.member;
+import static com.querydsl.entity.QTeam.team;
+
+/**
+ * 병렬 페이징
+ * - 컨텐츠, 카운트 쿼리를 각각 별도 스레드, 별도 읽기 전용 트랜잭션(커넥션) 에서 동시에 실행
+ * - 페이지 응답 시간 = max(컨텐츠, 카운트)
+ * - 컨텐츠 조회가 실패 하거나 컨텐츠 만으로 전체 수를 알 수 있으면 카운트는 취소
+ * - 카운트가 count-timeout 안에 끝나지 않으면 EXPLAIN 추정치로 대체
+ * - 취소, 타임아웃 시 실행 중인 JDBC 문장도 Session.cancelQuery() 로 중단 (future 취소 만으로는 쿼리가 계속 실행 된다)
+ *   카운트 쿼리 에는 DB 쿼리 타임아웃도 건다 (초 단위 이므로 count-timeout 을 올림)
+ * - 호출 스레드의 read-your-writes(ReplicaRouting) 설정, 검색 조건(SearchConditionContext) 을 작업 스레드 에도 적용
+**/
+@Slf4j
+public class MemberAsyncPageRepositoryImpl implements MemberAsyncPageRepository {
+    private static final String METHOD = "searchPageAsync";
+    private static final String QUERY_TIMEOUT_HINT = "javax.persistence.query.timeout";
+
+    private final EntityManager em;
+    private final JPAQueryFactory queryFactory;
+    private final MemberQueryMetrics metrics;
+    private final MemberCountEstimator countEstimator;
+    private final TransactionTemplate readOnlyTransaction;
+    private final AsyncTaskExecutor executor;
+    private final Duration timeout;
+    private final Duration countTimeout;
+    private final int countQueryTimeoutMillis;
+
+    public MemberAsyncPageRepositoryImpl(EntityManager em,
+                                         MemberQueryMetrics metrics,
+                                         MemberCountEstimator countEstimator,
+                                         PlatformTransactionManager transactionManager,
+                                         @Qualifier("applicationTaskExecutor") AsyncTaskExecutor executor,
+                                         @Value("${querydsl.async-page.timeout:5s}") Duration timeout,
+                                         @Value("${querydsl.async-page.count-timeout:1s}") Duration countTimeout) {
+        if (timeout.isNegative() || timeout.isZero() || countTimeout.isNegative() || countTimeout.isZero()) {
+            throw new IllegalArgumentException("querydsl.async-page.timeout, count-timeout 은 0 보다 커야 합니다");
+        }
+        this.em = em;
+        this.queryFactory = new JPAQueryFactory(em);
+        this.metrics = metrics;
+        this.countEstimator = countEstimator;
+        this.executor = executor;
+        this.timeout = timeout;
+        this.countTimeout = countTimeout;
+        // javax.persistence.query.timeout 은 초 단위로 반올림 되어 1 초 미만은 타임아웃 없음 -> 초 단위로 올림
+        // Hibernate 는 Integer 값만 받는다 (Long 이면 IllegalArgumentException)
+        this.countQueryTimeoutMillis = Math.toIntExact(TimeUnit.SECONDS.toMillis((countTimeout.toMillis() + 999) / 1000));
+
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public CompletableFuture<Page<MemberTeamDto>> searchPageAsync(MemberSearchCondition condition, Pageable pageable) {
+        MemberSearchShape shape = MemberSearchShape.of(condition);
+        boolean primaryForced = ReplicaRouting.isPrimaryForced();
+
+        RunningQuery contentQuery = new RunningQuery();
+        RunningQuery countQuery = new RunningQuery();
+
+        CompletableFuture<List<MemberTeamDto>> contentFuture = CompletableFuture
+                .supplyAsync(() -> readOnly(primaryForced, condition, contentQuery, () -> metrics.content(METHOD, shape, () -> contentQuery(condition, pageable).fetch())), executor)
+                .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+
+        // 시간 예산 안에 끝나지 않으면 null 로 완료 -> 추정치 사용, 실행 중인 카운트 쿼리 중단
+        CompletableFuture<Long> countFuture = CompletableFuture
+                .supplyAsync(() -> readOnly(primaryForced, condition, countQuery, () -> metrics.count(METHOD, shape, () -> countQuery(condition).fetchOne())), executor)
+                .completeOnTimeout(null, countTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        countFuture.whenComplete((total, ex) -> {
+            if (total == null) {
+                countQuery.cancel();
+            }
+        });
+
+        contentFuture.whenComplete((content, ex) -> {
+            if (ex != null) {
+                contentQuery.cancel();
+                countFuture.cancel(true);
+            }
+        });
+
+        return contentFuture.thenCompose(content -> total(condition, content, pageable, countFuture, countQuery)
+                .thenApply(total -> PageableExecutionUtils.getPage(content, pageable, () -> total)));
+    }
+
+    private CompletableFuture<Long> total(MemberSearchCondition condition, List<MemberTeamDto> content,
+                                          Pageable pageable, CompletableFuture<Long> countFuture,
+                                          RunningQuery countQuery) {
+        OptionalLong knownTotal = PageTotals.known(content, pageable);
+        if (knownTotal.isPresent()) {
+            countQuery.cancel();
+            countFuture.cancel(true);
+            return CompletableFuture.completedFuture(knownTotal.getAsLong());
+        }
+
+        return countFuture
+                .exceptionally(ex -> {
+                    log.warn("member count query failed. fallback to estimated total", ex);
+                    return null;
+                })
+                .thenApply(total -> total != null ? total : estimatedTotal(condition, content, pageable));
+    }
+
+    /**
+     * 카운트 실패 시 추정치
+     * - 옵티마이저 예상 row 수 (MemberCountEstimator)
+     * - 현재 페이지는 가득 찼으므로 최소 offset + size + 1 건
+    **/
+    private long estimatedTotal(MemberSearchCondition condition, List<MemberTeamDto> content, Pageable pageable) {
+        long lowerBound = pageable.getOffset() + content.size() + 1;
+        return Math.max(countEstimator.estimate(condition).orElse(lowerBound), lowerBound);
+    }
+
+    /**
+     * 공유 EntityManager 프록시는 Session 을 구현 하므로 unwrap(Session.class) 는 프록시 자신을 반환 한다
+     * (다른 스레드 에서 호출 하면 그 스레드의 세션 으로 간다) -> 트랜잭션의 실제 세션은 SessionImplementor 로 꺼낸다
+    **/
+    private <T> T readOnly(boolean primaryForced, MemberSearchCondition condition, RunningQuery running, Supplier<T> query) {
+        return SearchConditionContext.with(condition, () -> ReplicaRouting.route(primaryForced,
+                () -> readOnlyTransaction.execute(status -> running.run(em.unwrap(SessionImplementor.class), query))));
+    }
+
+    private JPAQuery<MemberTeamDto> contentQuery(MemberSearchCondition condition, Pageable pageable) {
+        JPAQuery<MemberTeamDto> query = queryFactory
+                .select(new QMemberTeamDto(
+                        member.id,
+                        member.name,
+                        member.age,
+                        team.id,
+                        team.name
+                ))
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(MemberSearchPredicates.of(condition));
+
+        if (pageable.isPaged()) {
+            query.offset(pageable.getOffset())
+                    .limit(pageable.getPageSize());
+        }
+        return query;
+    }
+
+    private JPAQuery<Long> countQuery(MemberSearchCondition condition) {
+        JPAQuery<Long> countQuery = queryFactory
+                .select(member.count())
+                .from(member);
+
+        if (MemberSearchPredicates.needsTeamJoin(condition)) {
+            countQuery.leftJoin(member.team, team);
+        }
+
+        return countQuery
+                .where(MemberSearchPredicates.of(condition))
+                .setHint(QUERY_TIMEOUT_HINT, countQueryTimeoutMillis);
+    }
+
+    /**
+     * 작업 스레드 에서 실행 중인 쿼리의 Session, 다른 스레드 에서 cancel() 로 JDBC Statement.cancel()
+     * - 시작 전에 취소 되면 쿼리를 실행 하지 않는다
+     * - 이미 끝난 뒤의 취소는 무시
+    **/
+    private static class RunningQuery {
+        private final AtomicReference<Session> session = new AtomicReference<>();
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+
+        <T> T run(Session current, Supplier<T> query) {
+            session.set(current);
+            try {
+                if (cancelled.get()) {
+                    throw new CancellationException("query cancelled before start");
+                }
+                return query.get();
+            } finally {
+                session.set(null);
+            }
+        }
+
+        void cancel() {
+            if (!cancelled.compareAndSet(false, true)) {
+                return;
+            }
+            Session current = session.get();
+            if (current == null) {
+                return;
+            }
+            try {
+                current.cancelQuery();
+            } catch (RuntimeException e) {
+                log.debug("cancel query failed", e);
+            }
+        }
+    }
+}
@@ -1,14 +1,24 @@
 package com.querydsl.repository.custom;
 
+import com.querydsl.dto.CountStrategy;
+import com.querydsl.dto.MemberCountedPage;
+import com.querydsl.dto.MemberKeysetSlice;
 import com.querydsl.dto.MemberSearchCondition;
 import com.querydsl.dto.MemberTeamDto;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface MemberRepositoryCustom {
     List<MemberTeamDto> search(MemberSearchCondition condition);
     PageImpl<MemberTeamDto> searchPageSimple(MemberSearchCondition condition, Pageable pageable);
-    List<MemberTeamDto> searchPageComplex(MemberSearchCondition condition, Pageable pageable);
+    Page<MemberTeamDto> searchPageComplex(MemberSearchCondition condition, Pageable pageable);
+    Page<MemberTeamDto> searchPageDeferred(MemberSearchCondition condition, Pageable pageable);
+    MemberCountedPage searchPage(MemberSearchCondition condition, Pageable pageable, CountStrategy countStrategy);
+    Stream<MemberTeamDto> searchStream(MemberSearchCondition condition, int fetchSize);
+    MemberKeysetSlice searchKeyset(MemberSearchCondition condition, String cursor, int size);
+    List<List<MemberTeamDto>> searchBatch(List<MemberSearchCondition> conditions);
 }
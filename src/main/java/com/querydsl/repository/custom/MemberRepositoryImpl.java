@@ -1,16 +1,48 @@
 package com.querydsl.repository.custom;
 
+import com.querydsl.core.types.Order;
+import com.querydsl.core.types.OrderSpecifier;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.PathBuilder;
+import com.querydsl.dto.CountStrategy;
+import com.querydsl.dto.MemberCountedPage;
+import com.querydsl.dto.MemberKeysetCursor;
+import com.querydsl.dto.MemberKeysetSlice;
 import com.querydsl.dto.MemberSearchCondition;
 import com.querydsl.dto.MemberTeamDto;
 import com.querydsl.dto.QMemberTeamDto;
+import com.querydsl.entity.Member;
+import com.querydsl.exception.InvalidSearchRequestException;
+import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.querydsl.repository.cache.MemberSearchCacheKey;
+import com.querydsl.repository.support.MemberCountEstimator;
+import com.querydsl.repository.support.MemberQueryMetrics;
+import com.querydsl.repository.support.MemberSearchNativeSql;
+import com.querydsl.repository.support.MemberSearchPredicates;
+import com.querydsl.repository.support.MemberSearchShape;
+import com.querydsl.repository.support.PageTotals;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static com.querydsl.entity.QMember.member;
 import static com.querydsl.entity.QTeam.team;
@@ -18,18 +50,34 @@ import static com.querydsl.entity.QTeam.team;
 /**
  * 인터페이스인 MemberRepositoryCustom 구현
  * 해당 인터페이스를 구현한 사용자정의 클래스를 생성
+ * 검색, 페이징 모두 읽기 전용 트랜잭션 (replica 라우팅 대상)
  **/
+@Transactional(readOnly = true)
 public class MemberRepositoryImpl implements MemberRepositoryCustom {
+    private static final Set<String> SORTABLE = Set.of("id", "name", "age");
+    public static final int MAX_BATCH_CONDITIONS = 100;
+    public static final int MAX_KEYSET_SIZE = 1000;
 
+    private final EntityManager em;
     private final JPAQueryFactory queryFactory;
+    private final MemberQueryMetrics metrics;
+    private final MemberCountEstimator countEstimator;
+    private final int countCap;
 
-    public MemberRepositoryImpl(EntityManager em) {
-        queryFactory = new JPAQueryFactory(em);
+    public MemberRepositoryImpl(EntityManager em,
+                                MemberQueryMetrics metrics,
+                                MemberCountEstimator countEstimator,
+                                @Value("${querydsl.count.cap:10000}") int countCap) {
+        this.em = em;
+        this.queryFactory = new JPAQueryFactory(em);
+        this.metrics = metrics;
+        this.countEstimator = countEstimator;
+        this.countCap = countCap;
     }
 
     @Override
     public List<MemberTeamDto> search(MemberSearchCondition condition) {
-        return queryFactory
+        return metrics.content("search", MemberSearchShape.of(condition), () -> queryFactory
                 .select(new QMemberTeamDto(
                         member.id,
                         member.name,
@@ -39,27 +87,54 @@ public class MemberRepositoryImpl implements MemberRepositoryCustom {
                 ))
                 .from(member)
                 .leftJoin(member.team, team)
-                .where(nameEq(condition.getName()),
+                .where(nameMatches(condition),
                         teamNameEq(condition.getTeamName()),
                         ageGoe(condition.getAgeGoe()),
                         ageLoe(condition.getAgeLoe()))
-                .fetch();
+                .fetch());
     }
 
-    private BooleanExpression nameEq(String name) {
-        return StringUtils.hasText(name) ? member.name.eq(name) : null;
+    /**
+     * 스트리밍 조회
+     * - fetch() 처럼 List 로 모두 올리지 않고 forward-only 커서로 fetchSize 만큼씩 읽어 온다
+     * - MySQL 은 useCursorFetch=true 일 때 fetchSize 단위로 서버 커서를 사용
+     * - 반환된 Stream 은 트랜잭션 안에서 소비하고 반드시 close 해야 한다
+    **/
+    @Override
+    public Stream<MemberTeamDto> searchStream(MemberSearchCondition condition, int fetchSize) {
+        return metrics.stream("searchStream", MemberSearchShape.of(condition), () -> queryFactory
+                .select(new QMemberTeamDto(
+                        member.id,
+                        member.name,
+                        member.age,
+                        team.id,
+                        team.name
+                ))
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(nameMatches(condition),
+                        teamNameEq(condition.getTeamName()),
+                        ageGoe(condition.getAgeGoe()),
+                        ageLoe(condition.getAgeLoe()))
+                .setHint(QueryHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(QueryHints.HINT_READONLY, true)
+                .stream());
+    }
+
+    private BooleanExpression nameMatches(MemberSearchCondition condition) {
+        return MemberSearchPredicates.name(condition);
     }
 
     private BooleanExpression teamNameEq(String teamName) {
-        return StringUtils.hasText(teamName) ? team.name.eq(teamName) : null;
+        return MemberSearchPredicates.teamNameEq(teamName);
     }
 
     private BooleanExpression ageGoe(Integer age) {
-        return age == null ? null : member.age.goe(age);
+        return MemberSearchPredicates.ageGoe(age);
     }
 
     private BooleanExpression ageLoe(Integer age) {
-        return age == null ? null : member.age.loe(age);
+        return MemberSearchPredicates.ageLoe(age);
     }
 
     /**
@@ -67,8 +142,9 @@ public class MemberRepositoryImpl implements MemberRepositoryCustom {
     **/
     @Override
     public PageImpl<MemberTeamDto> searchPageSimple(MemberSearchCondition condition, Pageable pageable) {
+        MemberSearchShape shape = MemberSearchShape.of(condition);
 
-        List<MemberTeamDto> content = queryFactory
+        List<MemberTeamDto> content = metrics.content("searchPageSimple", shape, () -> queryFactory
                 .select(new QMemberTeamDto(
                         member.id,
                         member.name,
@@ -78,32 +154,339 @@ public class MemberRepositoryImpl implements MemberRepositoryCustom {
                 ))
                 .from(member)
                 .leftJoin(member.team, team)
-                .where(nameEq(condition.getName()),
+                .where(nameMatches(condition),
                         teamNameEq(condition.getTeamName()),
                         ageGoe(condition.getAgeGoe()),
                         ageLoe(condition.getAgeLoe()))
                 .offset(pageable.getOffset())
                 .limit(pageable.getPageSize())
-                .fetch();
+                .fetch());
 
-        Long count = queryFactory
+        Long count = metrics.count("searchPageSimple", shape, () -> queryFactory
                 .select(member.count())
                 .from(member)
                 .leftJoin(member.team, team)
-                .where(nameEq(condition.getName()),
+                .where(nameMatches(condition),
                         teamNameEq(condition.getTeamName()),
                         ageGoe(condition.getAgeGoe()),
                         ageLoe(condition.getAgeLoe()))
-                .fetchOne();
+                .fetchOne());
 
         return new PageImpl<>(content,pageable,count);
     }
 
     /**
      * 복잡한 queryDsl 페이징
+     * - 컨텐츠 쿼리와 카운트 쿼리를 분리
+     * - 첫 페이지의 컨텐츠가 페이지 크기보다 작거나, 마지막 페이지라면 카운트 쿼리 생략 (PageableExecutionUtils)
+     * - teamName 조건이 없으면 team 조인은 결과 row 수에 영향이 없으므로 카운트 쿼리에서 제거
+    **/
+    @Override
+    public Page<MemberTeamDto> searchPageComplex(MemberSearchCondition condition, Pageable pageable) {
+        MemberSearchShape shape = MemberSearchShape.of(condition);
+
+        List<MemberTeamDto> content = metrics.content("searchPageComplex", shape, () -> queryFactory
+                .select(new QMemberTeamDto(
+                        member.id,
+                        member.name,
+                        member.age,
+                        team.id,
+                        team.name
+                ))
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(nameMatches(condition),
+                        teamNameEq(condition.getTeamName()),
+                        ageGoe(condition.getAgeGoe()),
+                        ageLoe(condition.getAgeLoe()))
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .fetch());
+
+        JPAQuery<Long> countQuery = countQuery(condition);
+
+        // 카운트 쿼리는 필요할 때만 실행 된다
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> metrics.count("searchPageComplex", shape, countQuery::fetchOne));
+    }
+
+    private JPAQuery<Long> countQuery(MemberSearchCondition condition) {
+        JPAQuery<Long> countQuery = queryFactory
+                .select(member.count())
+                .from(member);
+
+        // member -> team 은 ManyToOne 이므로 left join 은 row 수를 늘리지 않는다
+        if (MemberSearchPredicates.needsTeamJoin(condition)) {
+            countQuery.leftJoin(member.team, team);
+        }
+
+        return countQuery
+                .where(nameMatches(condition),
+                        teamNameEq(condition.getTeamName()),
+                        ageGoe(condition.getAgeGoe()),
+                        ageLoe(condition.getAgeLoe()));
+    }
+
+    /**
+     * 지연 조인(deferred join) 페이징 - offset 이 큰 페이지 용
+     * - 1 단계 : 인덱스 만으로 (covering index) 페이지의 member.id 만 조회
+     *           offset 으로 버려지는 row 들은 member, team 본문을 읽지 않는다
+     *           정렬 별 인덱스 : name -> idx_member_name (name, id), age -> idx_member_age (age, id), id -> PK
+     *           조건이 정렬 인덱스 에 없는 컬럼(팀 이름 등) 이면 인덱스 만으로 끝나지 않는다
+     * - 2 단계 : member.id in (...) 으로 해당 페이지 row 만 DTO 로 조회 후 1 단계 순서대로 정렬
+     * - 정렬은 member 의 id, name, age 만 허용, 항상 id 를 마지막 정렬 기준으로 추가
+    **/
+    @Override
+    public Page<MemberTeamDto> searchPageDeferred(MemberSearchCondition condition, Pageable pageable) {
+        MemberSearchShape shape = MemberSearchShape.of(condition);
+
+        JPAQuery<Long> idQuery = queryFactory
+                .select(member.id)
+                .from(member);
+        if (MemberSearchPredicates.needsTeamJoin(condition)) {
+            idQuery.leftJoin(member.team, team);
+        }
+
+        List<Long> ids = metrics.content("searchPageDeferred.ids", shape, () -> idQuery
+                .where(MemberSearchPredicates.of(condition))
+                .orderBy(orderBy(pageable.getSort()))
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .fetch());
+
+        List<MemberTeamDto> content = ids.isEmpty() ? List.of() : metrics.content("searchPageDeferred", shape, () -> queryFactory
+                .select(new QMemberTeamDto(
+                        member.id,
+                        member.name,
+                        member.age,
+                        team.id,
+                        team.name
+                ))
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(member.id.in(ids))
+                .fetch());
+
+        // in 절은 순서를 보장하지 않으므로 1 단계 id 순서로 복원
+        Map<Long, Integer> position = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            position.put(ids.get(i), i);
+        }
+        List<MemberTeamDto> ordered = new ArrayList<>(content);
+        ordered.sort(Comparator.comparing((MemberTeamDto dto) -> position.get(dto.getMemberId())));
+
+        JPAQuery<Long> countQuery = countQuery(condition);
+        return PageableExecutionUtils.getPage(ordered, pageable,
+                () -> metrics.count("searchPageDeferred", shape, countQuery::fetchOne));
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private OrderSpecifier<?>[] orderBy(Sort sort) {
+        PathBuilder<Member> path = new PathBuilder<>(Member.class, member.getMetadata());
+        List<OrderSpecifier<?>> orders = new ArrayList<>();
+        boolean hasId = false;
+
+        for (Sort.Order order : sort) {
+            if (!SORTABLE.contains(order.getProperty())) {
+                throw new InvalidSearchRequestException("정렬할 수 없는 속성 입니다. property = " + order.getProperty());
+            }
+            Order direction = order.isAscending() ? Order.ASC : Order.DESC;
+            orders.add(new OrderSpecifier(direction, path.get(order.getProperty())));
+            hasId |= order.getProperty().equals("id");
+        }
+
+        if (!hasId) {
+            orders.add(member.id.asc());
+        }
+        return orders.toArray(new OrderSpecifier<?>[0]);
+    }
+
+    /**
+     * 전체 수 계산 방식을 선택하는 페이징
+     * - 컨텐츠 만으로 전체 수를 알 수 있으면 어떤 방식이든 카운트 쿼리 생략 (정확한 값)
+     * - CAPPED : 상한 + 1 개 까지만 DB 에서 센다 (상한을 넘으면 상한 값, totalExact = false)
+     * - ESTIMATED : EXPLAIN 예상 row 수, 추정 불가 시 EXACT
+    **/
+    @Override
+    public MemberCountedPage searchPage(MemberSearchCondition condition, Pageable pageable, CountStrategy countStrategy) {
+        MemberSearchShape shape = MemberSearchShape.of(condition);
+
+        List<MemberTeamDto> content = metrics.content("searchPage", shape, () -> queryFactory
+                .select(new QMemberTeamDto(
+                        member.id,
+                        member.name,
+                        member.age,
+                        team.id,
+                        team.name
+                ))
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(MemberSearchPredicates.of(condition))
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .fetch());
+
+        OptionalLong known = PageTotals.known(content, pageable);
+        if (known.isPresent()) {
+            return new MemberCountedPage(content, pageable, known.getAsLong(), countStrategy, true);
+        }
+
+        // 현재 페이지가 가득 찼으므로 최소 offset + size + 1 건
+        long lowerBound = pageable.getOffset() + content.size() + 1;
+
+        if (countStrategy == CountStrategy.CAPPED) {
+            long capped = metrics.count("searchPage", shape, () -> cappedCount(shape, condition));
+            boolean exact = capped <= countCap;
+            return new MemberCountedPage(content, pageable, Math.max(exact ? capped : countCap, lowerBound), countStrategy, exact);
+        }
+
+        if (countStrategy == CountStrategy.ESTIMATED) {
+            OptionalLong estimated = countEstimator.estimate(condition);
+            if (estimated.isPresent()) {
+                return new MemberCountedPage(content, pageable, Math.max(estimated.getAsLong(), lowerBound), countStrategy, false);
+            }
+        }
+
+        Long count = metrics.count("searchPage", shape, () -> countQuery(condition).fetchOne());
+        return new MemberCountedPage(content, pageable, count, countStrategy, true);
+    }
+
+    private long cappedCount(MemberSearchShape shape, MemberSearchCondition condition) {
+        Query query = em.createNativeQuery(MemberSearchNativeSql.countCapped(shape));
+        List<Object> params = MemberSearchNativeSql.params(condition);
+        for (int i = 0; i < params.size(); i++) {
+            query.setParameter(i + 1, params.get(i));
+        }
+        query.setParameter(params.size() + 1, countCap + 1);
+        return ((Number) query.getSingleResult()).longValue();
+    }
+
+    /**
+     * keyset(seek) 페이징
+     * - offset 대신 마지막으로 조회한 (age, memberId) 이후의 row 만 조회
+     * - (age, id) 순서로 인덱스를 타므로 몇 번째 페이지든 비용이 동일
+     * - size + 1 개를 조회해서 다음 페이지 존재 여부 판단
+     * - size 는 1 ~ MAX_KEYSET_SIZE
     **/
     @Override
-    public List<MemberTeamDto> searchPageComplex(MemberSearchCondition condition, Pageable pageable) {
-        return null;
+    public MemberKeysetSlice searchKeyset(MemberSearchCondition condition, String cursor, int size) {
+        if (size < 1 || size > MAX_KEYSET_SIZE) {
+            throw new InvalidSearchRequestException("size 는 1 ~ " + MAX_KEYSET_SIZE + " 사이 여야 합니다. size = " + size);
+        }
+        MemberKeysetCursor after = StringUtils.hasText(cursor) ? MemberKeysetCursor.decode(cursor) : null;
+
+        List<MemberTeamDto> content = metrics.content("searchKeyset", MemberSearchShape.of(condition), () -> queryFactory
+                .select(new QMemberTeamDto(
+                        member.id,
+                        member.name,
+                        member.age,
+                        team.id,
+                        team.name
+                ))
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(nameMatches(condition),
+                        teamNameEq(condition.getTeamName()),
+                        ageGoe(condition.getAgeGoe()),
+                        ageLoe(condition.getAgeLoe()),
+                        afterCursor(after))
+                .orderBy(member.age.asc(), member.id.asc())
+                .limit(size + 1)
+                .fetch());
+
+        boolean hasNext = content.size() > size;
+        if (hasNext) {
+            content = content.subList(0, size);
+        }
+
+        String nextCursor = hasNext ? MemberKeysetCursor.of(content.get(size - 1)).encode() : null;
+        return new MemberKeysetSlice(content, content.size(), hasNext, nextCursor);
+    }
+
+    /**
+     * 여러 검색 조건을 SQL 1 번으로 조회 (대시보드 등 연속 검색)
+     * - 같은 조건(MemberSearchCacheKey) 은 한번만 조회 해서 결과를 공유
+     * - 조건 모양 순으로 정렬한 UNION ALL + batch_index 로 조회 후 조건 별로 분리
+     * - 반환 목록은 conditions 와 같은 순서, 같은 크기
+     * - 조건은 MAX_BATCH_CONDITIONS 개 까지, null 조건은 허용 하지 않는다 (InvalidSearchRequestException -> 400)
+    **/
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<List<MemberTeamDto>> searchBatch(List<MemberSearchCondition> conditions) {
+        if (conditions.size() > MAX_BATCH_CONDITIONS) {
+            throw new InvalidSearchRequestException("한번에 검색할 수 있는 조건은 " + MAX_BATCH_CONDITIONS + " 개 까지 입니다. size = " + conditions.size());
+        }
+        for (int i = 0; i < conditions.size(); i++) {
+            if (conditions.get(i) == null) {
+                throw new InvalidSearchRequestException("검색 조건은 null 일 수 없습니다. index = " + i);
+            }
+        }
+        if (conditions.isEmpty()) {
+            return List.of();
+        }
+
+        // 중복 제거 : 조건 -> 조회 할 branch 위치
+        Map<MemberSearchCacheKey, Integer> branchByKey = new HashMap<>();
+        List<MemberSearchCondition> branches = new ArrayList<>();
+        int[] branchOfCondition = new int[conditions.size()];
+        for (int i = 0; i < conditions.size(); i++) {
+            MemberSearchCondition condition = conditions.get(i);
+            branchOfCondition[i] = branchByKey.computeIfAbsent(MemberSearchCacheKey.of(condition), key -> {
+                branches.add(condition);
+                return branches.size() - 1;
+            });
+        }
+
+        // 같은 모양끼리 모아서 SQL 문자열이 조건 순서에 덜 의존 하도록
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < branches.size(); i++) {
+            order.add(i);
+        }
+        order.sort(Comparator.comparingInt(i -> MemberSearchShape.of(branches.get(i)).getIndex()));
+
+        List<MemberSearchShape> shapes = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        for (Integer branch : order) {
+            shapes.add(MemberSearchShape.of(branches.get(branch)));
+            params.addAll(MemberSearchNativeSql.params(branches.get(branch)));
+        }
+
+        List<List<MemberTeamDto>> results = new ArrayList<>(branches.size());
+        for (int i = 0; i < branches.size(); i++) {
+            results.add(new ArrayList<>());
+        }
+
+        metrics.content("searchBatch", null, () -> {
+            Query query = em.createNativeQuery(MemberSearchNativeSql.selectBatch(shapes, order));
+            for (int i = 0; i < params.size(); i++) {
+                query.setParameter(i + 1, params.get(i));
+            }
+            return (List<Object[]>) query.getResultList();
+        }).forEach(row -> results.get(((Number) row[0]).intValue()).add(new MemberTeamDto(
+                toLong(row[1]),
+                (String) row[2],
+                ((Number) row[3]).intValue(),
+                toLong(row[4]),
+                (String) row[5])));
+
+        List<List<MemberTeamDto>> byCondition = new ArrayList<>(conditions.size());
+        for (int branch : branchOfCondition) {
+            // 같은 조건은 같은 목록을 공유 하므로 수정 불가
+            byCondition.add(Collections.unmodifiableList(results.get(branch)));
+        }
+        return byCondition;
+    }
+
+    private static Long toLong(Object value) {
+        return value == null ? null : ((Number) value).longValue();
+    }
+
+    private BooleanExpression afterCursor(MemberKeysetCursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        // (age, id) > (:age, :id)
+        return member.age.gt(cursor.getAge())
+                .or(member.age.eq(cursor.getAge()).and(member.id.gt(cursor.getMemberId())));
     }
 }
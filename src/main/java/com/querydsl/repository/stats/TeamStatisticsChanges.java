@@ -0,0 +1,87 @@
+package com.querydsl.repository.stats;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 트랜잭션 동안 모은 팀 통계 변경분
+ * - created : 팀 추가 (빈 집계 row 생성)
+ * - deltas : 회원 추가, 변경, 삭제 (count, sum 은 증분, 삭제가 섞이면 min, max 는 인덱스 에서 다시 조회)
+ * - removed : 팀 삭제 (통계 row 삭제)
+**/
+class TeamStatisticsChanges {
+    private Set<Long> created = new HashSet<>();
+    private Map<Long, Delta> deltas = new HashMap<>();
+    private Set<Long> removed = new HashSet<>();
+
+    void teamCreated(Long teamId) {
+        created.add(teamId);
+    }
+
+    void memberAdded(Long teamId, int age) {
+        deltas.computeIfAbsent(teamId, id -> new Delta()).add(age);
+    }
+
+    void memberRemoved(Long teamId, int age) {
+        deltas.computeIfAbsent(teamId, id -> new Delta()).remove(age);
+    }
+
+    void teamRemoved(Long teamId) {
+        removed.add(teamId);
+    }
+
+    boolean isEmpty() {
+        return created.isEmpty() && deltas.isEmpty() && removed.isEmpty();
+    }
+
+    /**
+     * 지금까지 모은 변경분을 꺼내고 비운다 (반영 중 flush 로 다시 쌓이는 변경분과 분리)
+    **/
+    TeamStatisticsChanges drain() {
+        TeamStatisticsChanges drained = new TeamStatisticsChanges();
+        drained.created = this.created;
+        drained.deltas = this.deltas;
+        drained.removed = this.removed;
+
+        this.created = new HashSet<>();
+        this.deltas = new HashMap<>();
+        this.removed = new HashSet<>();
+        return drained;
+    }
+
+    Set<Long> getCreated() {
+        return created;
+    }
+
+    Map<Long, Delta> getDeltas() {
+        return deltas;
+    }
+
+    Set<Long> getRemoved() {
+        return removed;
+    }
+
+    static class Delta {
+        long count;
+        long sum;
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        // 빠진 회원이 있으면 기존 min, max 가 유효 하지 않다
+        boolean removed;
+
+        void add(int age) {
+            count++;
+            sum += age;
+            min = Math.min(min, age);
+            max = Math.max(max, age);
+        }
+
+        void remove(int age) {
+            count--;
+            sum -= age;
+            removed = true;
+        }
+    }
+}
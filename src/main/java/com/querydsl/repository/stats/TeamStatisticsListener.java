@@ -0,0 +1,185 @@
+package com.querydsl.repository.stats;
+
+import com.querydsl.entity.Member;
+import com.querydsl.entity.Team;
+import com.querydsl.repository.TeamJpaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PreUpdate;
+import java.util.Objects;
+
+/**
+ * Member, Team 엔티티 리스너 - 팀 통계(TeamStatistics) 증분 갱신
+ * - 변경분은 트랜잭션에 모아 두었다가 커밋 직전(beforeCommit) 에 한번에 반영
+ * - 같은 트랜잭션 이므로 롤백 되면 통계도 함께 롤백
+ * - TeamJpaRepository 는 EntityManager 가 필요 하므로 ObjectProvider 로 지연 조회
+ *   (엔티티 리스너는 EntityManagerFactory 생성 중에 만들어진다)
+ * - JDBC 배치 insert, 벌크 update, delete 는 리스너를 거치지 않으므로 각 저장소에서 직접 반영
+ * - 팀 재집계(member 전체 group by) 는 하지 않는다. 회원 변경, 삭제는 count, sum 증분 + min, max 인덱스 조회
+ * - update, remove 콜백은 커밋 시점 flush 에서 발생 할 수 있고 그때는 beforeCommit 이 이미 지났으므로
+ *   엔티티를 읽는 시점(@PostLoad) 에 미리 등록 해서 beforeCommit 의 flush 에서 모은다
+**/
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TeamStatisticsListener {
+    private final ObjectProvider<TeamJpaRepository> teamJpaRepository;
+    private final ObjectProvider<EntityManager> entityManager;
+
+    @PostLoad
+    public void onLoad(Object entity) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            changes();
+        }
+    }
+
+    @PostPersist
+    public void onPersist(Object entity) {
+        if (entity instanceof Member) {
+            Member member = (Member) entity;
+            Long teamId = teamId(member);
+            if (teamId != null) {
+                changes().memberAdded(teamId, member.getAge());
+            }
+        } else if (entity instanceof Team) {
+            changes().teamCreated(((Team) entity).getId());
+        }
+    }
+
+    /**
+     * 변경 전 팀, 나이는 flush 직전의 loaded state (DB 에서 읽은 값) 에서 가져온다
+     * - @PostUpdate 시점 에는 loaded state 가 이미 새 값으로 바뀌어 있다
+     * - 팀이 바뀌면 이전 팀에서 빼고 새 팀에 더한다
+    **/
+    @PreUpdate
+    public void onUpdate(Object entity) {
+        if (!(entity instanceof Member)) {
+            return;
+        }
+        Member member = (Member) entity;
+        EntityEntry entry = entityManager.getObject().unwrap(SessionImplementor.class)
+                .getPersistenceContext()
+                .getEntry(member);
+        if (entry == null || entry.getLoadedState() == null) {
+            return;
+        }
+
+        Team oldTeam = (Team) loadedValue(entry, "team");
+        Long oldTeamId = oldTeam == null ? null : oldTeam.getId();
+        int oldAge = (Integer) loadedValue(entry, "age");
+        Long newTeamId = teamId(member);
+        if (Objects.equals(oldTeamId, newTeamId) && oldAge == member.getAge()) {
+            return;
+        }
+
+        if (oldTeamId != null) {
+            changes().memberRemoved(oldTeamId, oldAge);
+        }
+        if (newTeamId != null) {
+            changes().memberAdded(newTeamId, member.getAge());
+        }
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        if (entity instanceof Member) {
+            Member member = (Member) entity;
+            Long teamId = teamId(member);
+            if (teamId != null) {
+                changes().memberRemoved(teamId, member.getAge());
+            }
+        } else if (entity instanceof Team) {
+            changes().teamRemoved(((Team) entity).getId());
+        }
+    }
+
+    private Object loadedValue(EntityEntry entry, String property) {
+        String[] names = entry.getPersister().getPropertyNames();
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(property)) {
+                return entry.getLoadedState()[i];
+            }
+        }
+        throw new IllegalStateException("unknown property " + property);
+    }
+
+    private Long teamId(Member member) {
+        // 프록시의 getId() 는 초기화 하지 않는다
+        return member.getTeam() == null ? null : member.getTeam().getId();
+    }
+
+    /**
+     * 트랜잭션 마다 하나의 변경분을 바인딩
+     * - 트랜잭션 밖(동기화 비활성) 이라면 반영할 시점이 없으므로 버린다
+    **/
+    private TeamStatisticsChanges changes() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            log.warn("team statistics change ignored. no active transaction synchronization");
+            return new TeamStatisticsChanges();
+        }
+
+        TeamStatisticsChanges changes = (TeamStatisticsChanges) TransactionSynchronizationManager.getResource(this);
+        if (changes == null) {
+            TeamStatisticsChanges bound = new TeamStatisticsChanges();
+            TransactionSynchronizationManager.bindResource(this, bound);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    // 읽기 전용 트랜잭션은 flush 하지 않으므로 반영할 변경이 없다
+                    if (!readOnly) {
+                        apply(bound);
+                    }
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TeamStatisticsListener.this);
+                }
+            });
+            changes = bound;
+        }
+        return changes;
+    }
+
+    /**
+     * 커밋 직전 반영
+     * - 먼저 flush 해서 변경 감지로 발생하는 update, remove 콜백까지 모은 뒤 반영
+     * - 반영 후 flush 에서 다시 쌓인 변경분이 없을 때까지 반복
+    **/
+    private void apply(TeamStatisticsChanges changes) {
+        TeamJpaRepository repository = teamJpaRepository.getObject();
+        repository.flush();
+
+        while (!changes.isEmpty()) {
+            TeamStatisticsChanges batch = changes.drain();
+
+            batch.getCreated().stream()
+                    .filter(teamId -> !batch.getRemoved().contains(teamId))
+                    .forEach(repository::createStatistics);
+            batch.getDeltas().forEach((teamId, delta) -> {
+                if (batch.getRemoved().contains(teamId)) {
+                    return;
+                }
+                if (delta.removed) {
+                    repository.changeMembers(teamId, delta.count, delta.sum);
+                } else {
+                    repository.addMembers(teamId, delta.count, delta.sum, delta.min, delta.max);
+                }
+            });
+            batch.getRemoved().forEach(repository::removeStatistics);
+
+            repository.flush();
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.querydsl.repository.support;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 긴 트랜잭션 에서 영속성 컨텍스트 크기 제한
+ * - flush 는 관리 중인 엔티티 전체를 dirty checking 하므로 영속성 컨텍스트가 커질수록 flush 마다 느려진다
+ * - persistAll, forEach : flush-interval 개 마다 flush -> 이번 호출이 올린 엔티티만 detach
+ *   (clear 하지 않으므로 호출 측이 먼저 올려둔 엔티티는 영속 상태 유지). flush-interval 보다 적으면 flush 하지 않는다
+ * - readOnly : 조회 위주 구간, 읽은 엔티티의 스냅샷을 만들지 않고(dirty checking 제외) 자동 flush 하지 않는다
+ * - persistence.context.flush : flush 시간, persistence.context.size : flush 직전 관리 엔티티 수
+ *   작업을 시작한 세션의 모든 flush (간격 flush, 커밋 시점 flush, 호출 측 flush) 를 SessionEventListener 로 기록
+ *   work 태그는 그 트랜잭션 에서 마지막 으로 시작한 작업 이름. 쿼리 전 자동 flush (partial flush) 는 제외
+ * - 트랜잭션 안에서 호출 해야 한다
+**/
+@Slf4j
+@Component
+public class BatchUnitOfWork {
+    public static final String FLUSH_METRIC = "persistence.context.flush";
+    public static final String SIZE_METRIC = "persistence.context.size";
+
+    private final EntityManager em;
+    private final MeterRegistry registry;
+    private final int flushInterval;
+
+    public BatchUnitOfWork(EntityManager em,
+                           MeterRegistry registry,
+                           @Value("${querydsl.unit-of-work.flush-interval:1000}") int flushInterval) {
+        this.em = em;
+        this.registry = registry;
+        this.flushInterval = flushInterval;
+    }
+
+    public <T> int persistAll(String work, Iterable<T> entities) {
+        return forEach(work, entities, entity -> {
+            em.persist(entity);
+            return entity;
+        });
+    }
+
+    /**
+     * item 마다 action 실행, flush-interval 개 마다 flush -> action 이 반환한 엔티티 detach
+     * - action 은 이번 호출이 영속 상태로 만든 엔티티 (merge 면 반환된 영속 엔티티) 를 반환, 없으면 null
+     * - 마지막 flush-interval 미만은 영속 상태로 남기고 트랜잭션 커밋 때 flush
+    **/
+    public <T> int forEach(String work, Iterable<T> items, Function<T, ?> action) {
+        checkTransaction();
+        flushMetrics().work = work;
+
+        List<Object> pending = new ArrayList<>();
+        int count = 0;
+        int flushes = 0;
+        long flushNanos = 0;
+        for (T item : items) {
+            Object entity = action.apply(item);
+            if (entity != null) {
+                pending.add(entity);
+            }
+            if (++count % flushInterval == 0) {
+                flushNanos += flushAndDetach(pending);
+                flushes++;
+            }
+        }
+
+        if (flushes > 0) {
+            log.info("unit of work {} finished. items = {}, flushes = {}, flushTime = {}ms",
+                    work, count, flushes, TimeUnit.NANOSECONDS.toMillis(flushNanos));
+        }
+        return count;
+    }
+
+    /**
+     * 조회 위주 구간
+     * - 이전 변경 내용은 먼저 flush (구간 안의 쿼리는 자동 flush 하지 않으므로)
+     * - 구간 안에서 읽은 엔티티를 수정해도 반영 되지 않는다. 저장이 필요 하면 구간 밖에서 다시 조회
+    **/
+    public <T> T readOnly(Supplier<T> work) {
+        checkTransaction();
+
+        Session session = em.unwrap(Session.class);
+        session.flush();
+
+        boolean defaultReadOnly = session.isDefaultReadOnly();
+        FlushMode flushMode = session.getHibernateFlushMode();
+        session.setDefaultReadOnly(true);
+        session.setHibernateFlushMode(FlushMode.MANUAL);
+        try {
+            return work.get();
+        } finally {
+            session.setDefaultReadOnly(defaultReadOnly);
+            session.setHibernateFlushMode(flushMode);
+        }
+    }
+
+    public int managedEntities() {
+        return em.unwrap(SessionImplementor.class).getPersistenceContext().getNumberOfManagedEntities();
+    }
+
+    private long flushAndDetach(List<Object> entities) {
+        long start = System.nanoTime();
+        em.flush();
+        long elapsed = System.nanoTime() - start;
+
+        entities.forEach(em::detach);
+        entities.clear();
+        return elapsed;
+    }
+
+    /**
+     * 트랜잭션(세션) 마다 한 번 등록
+    **/
+    private FlushMetrics flushMetrics() {
+        FlushMetrics metrics = (FlushMetrics) TransactionSynchronizationManager.getResource(this);
+        if (metrics == null) {
+            FlushMetrics bound = new FlushMetrics(em.unwrap(SessionImplementor.class), registry);
+            bound.session.addEventListeners(bound);
+            TransactionSynchronizationManager.bindResource(this, bound);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(BatchUnitOfWork.this);
+                }
+            });
+            metrics = bound;
+        }
+        return metrics;
+    }
+
+    /**
+     * 트랜잭션 밖에서는 공유 EntityManager 가 호출 마다 새 영속성 컨텍스트를 사용
+    **/
+    private void checkTransaction() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("트랜잭션 안에서 호출 해야 합니다");
+        }
+    }
+
+    /**
+     * 세션의 flush 시간, flush 직전 관리 엔티티 수 기록
+    **/
+    private static class FlushMetrics extends BaseSessionEventListener {
+        private final SessionImplementor session;
+        private final MeterRegistry registry;
+        private volatile String work;
+        private long flushStart;
+
+        FlushMetrics(SessionImplementor session, MeterRegistry registry) {
+            this.session = session;
+            this.registry = registry;
+        }
+
+        @Override
+        public void flushStart() {
+            DistributionSummary.builder(SIZE_METRIC)
+                    .tag("work", work)
+                    .register(registry)
+                    .record(session.getPersistenceContext().getNumberOfManagedEntities());
+            flushStart = System.nanoTime();
+        }
+
+        @Override
+        public void flushEnd(int numberOfEntities, int numberOfCollections) {
+            Timer.builder(FLUSH_METRIC)
+                    .tag("work", work)
+                    .register(registry)
+                    .record(System.nanoTime() - flushStart, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.querydsl.repository.support;
+
+import com.querydsl.dto.MemberColumns;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * ResultSet -> MemberColumns (MemberSearchNativeSql.COLUMNAR_COLUMNS 순서)
+ * - 원시 타입 getter 만 사용하고, 배열이 가득 차면 2 배로 늘린다
+ * - 팀 이름 문자열은 처음 나온 팀 id 에서만 읽는다 (이후는 팀 id -> 코드 조회)
+ * - 할당은 배열 확장, 팀 수 만큼의 문자열 뿐 이므로 row 당 할당이 거의 없다
+**/
+public class MemberColumnsCollector implements RowCallbackHandler {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private int size;
+    private long[] ids;
+    private int[] ages;
+    private long[] teamIds;
+    private int[] teamNameCodes;
+    private final List<String> teamNames = new ArrayList<>();
+    private final TeamCodes teamCodes = new TeamCodes();
+
+    public MemberColumnsCollector() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public MemberColumnsCollector(int expectedRows) {
+        int capacity = Math.max(expectedRows, 16);
+        this.ids = new long[capacity];
+        this.ages = new int[capacity];
+        this.teamIds = new long[capacity];
+        this.teamNameCodes = new int[capacity];
+    }
+
+    @Override
+    public void processRow(ResultSet rs) throws SQLException {
+        if (size == ids.length) {
+            grow();
+        }
+
+        ids[size] = rs.getLong(1);
+        ages[size] = rs.getInt(2);
+
+        long teamId = rs.getLong(3);
+        if (rs.wasNull()) {
+            teamIds[size] = 0;
+            teamNameCodes[size] = MemberColumns.NO_TEAM;
+        } else {
+            int code = teamCodes.get(teamId);
+            if (code == MemberColumns.NO_TEAM) {
+                code = teamNames.size();
+                teamNames.add(rs.getString(4));
+                teamCodes.put(teamId, code);
+            }
+            teamIds[size] = teamId;
+            teamNameCodes[size] = code;
+        }
+        size++;
+    }
+
+    /**
+     * 남는 용량은 잘라서 반환 (배열 길이 == size)
+    **/
+    public MemberColumns toColumns() {
+        return new MemberColumns(size,
+                Arrays.copyOf(ids, size),
+                Arrays.copyOf(ages, size),
+                Arrays.copyOf(teamIds, size),
+                Arrays.copyOf(teamNameCodes, size),
+                List.copyOf(teamNames));
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        ages = Arrays.copyOf(ages, capacity);
+        teamIds = Arrays.copyOf(teamIds, capacity);
+        teamNameCodes = Arrays.copyOf(teamNameCodes, capacity);
+    }
+
+    /**
+     * 팀 id -> 사전 코드 (박싱 없는 open addressing, 팀 id 0 은 빈 칸)
+    **/
+    private static final class TeamCodes {
+        private long[] keys = new long[64];
+        private int[] values = new int[64];
+        private int count;
+
+        int get(long key) {
+            int mask = keys.length - 1;
+            for (int i = index(key, mask); keys[i] != 0; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return values[i];
+                }
+            }
+            return MemberColumns.NO_TEAM;
+        }
+
+        void put(long key, int value) {
+            if ((count + 1) * 2 > keys.length) {
+                rehash();
+            }
+            int mask = keys.length - 1;
+            int i = index(key, mask);
+            while (keys[i] != 0 && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            if (keys[i] == 0) {
+                count++;
+            }
+            keys[i] = key;
+            values[i] = value;
+        }
+
+        private void rehash() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new int[oldKeys.length * 2];
+            count = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private static int index(long key, int mask) {
+            return Long.hashCode(key * 0x9E3779B97F4A7C15L) & mask;
+        }
+    }
+}
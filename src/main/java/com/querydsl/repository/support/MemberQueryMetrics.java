@@ -0,0 +1,165 @@
+package com.querydsl.repository.support;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 레포지토리 쿼리 메트릭
+ * - member.repository.query : 메소드, 조건 모양, 이름 검색 방식(nameMode), 단계(content, count, write) 별 실행 시간
+ * - member.repository.rows : 메소드, 조건 모양 별 반환 row 수
+ * - 검색 조건이 없는 메소드의 shape 태그는 n/a
+**/
+@Component
+@RequiredArgsConstructor
+public class MemberQueryMetrics {
+    public static final String QUERY_METRIC = "member.repository.query";
+    public static final String ROWS_METRIC = "member.repository.rows";
+
+    public static final String CONTENT = "content";
+    public static final String COUNT = "count";
+    public static final String WRITE = "write";
+
+    private static final String NOT_SEARCH = "n/a";
+
+    private final MeterRegistry registry;
+
+    public <T> List<T> content(String method, MemberSearchShape shape, Supplier<List<T>> query) {
+        return content(method, shape, query, List::size);
+    }
+
+    /**
+     * List 가 아닌 결과 (컬럼 형식 등) 는 rowCount 로 row 수 계산
+    **/
+    public <T> T content(String method, MemberSearchShape shape, Supplier<T> query, ToLongFunction<T> rowCount) {
+        T result = record(method, shape, CONTENT, query);
+        rows(method, shape, rowCount.applyAsLong(result));
+        return result;
+    }
+
+    public <T> T single(String method, MemberSearchShape shape, Supplier<T> query) {
+        T row = record(method, shape, CONTENT, query);
+        rows(method, shape, row == null ? 0 : 1);
+        return row;
+    }
+
+    public Long count(String method, MemberSearchShape shape, Supplier<Long> query) {
+        return record(method, shape, COUNT, query);
+    }
+
+    public void write(String method, int rows, Runnable work) {
+        record(method, null, WRITE, () -> {
+            work.run();
+            return null;
+        });
+        rows(method, null, rows);
+    }
+
+    /**
+     * 저장 건수를 미리 알 수 없는 작업 (Iterable, Stream 입력) 은 반환 값을 row 수로 기록
+    **/
+    public int write(String method, IntSupplier work) {
+        int rows = record(method, null, WRITE, work::getAsInt);
+        rows(method, null, rows);
+        return rows;
+    }
+
+    /**
+     * 스트림은 close 시점까지의 시간과 읽은 row 수를 기록
+     * - outcome : 끝까지 읽음 success, 읽는 중 예외 error, 끝까지 읽지 않고 close cancelled
+    **/
+    public <T> Stream<T> stream(String method, MemberSearchShape shape, Supplier<Stream<T>> query) {
+        Timer.Sample sample = Timer.start(registry);
+        Stream<T> source;
+        try {
+            source = query.get();
+        } catch (RuntimeException e) {
+            sample.stop(timer(method, shape, CONTENT, "error"));
+            throw e;
+        }
+
+        Spliterator<T> spliterator = source.spliterator();
+        AtomicLong rows = new AtomicLong();
+        AtomicReference<String> outcome = new AtomicReference<>("cancelled");
+        Spliterator<T> recorded = new Spliterators.AbstractSpliterator<>(spliterator.estimateSize(),
+                spliterator.characteristics() & ~(Spliterator.SIZED | Spliterator.SUBSIZED)) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                try {
+                    boolean advanced = spliterator.tryAdvance(row -> {
+                        rows.incrementAndGet();
+                        action.accept(row);
+                    });
+                    if (!advanced) {
+                        outcome.compareAndSet("cancelled", "success");
+                    }
+                    return advanced;
+                } catch (RuntimeException e) {
+                    outcome.set("error");
+                    throw e;
+                }
+            }
+        };
+
+        return StreamSupport.stream(recorded, false)
+                .onClose(source::close)
+                .onClose(() -> {
+                    sample.stop(timer(method, shape, CONTENT, outcome.get()));
+                    rows(method, shape, rows.get());
+                });
+    }
+
+    private <T> T record(String method, MemberSearchShape shape, String phase, Supplier<T> query) {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "error";
+        try {
+            T result = query.get();
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(timer(method, shape, phase, outcome));
+        }
+    }
+
+    private Timer timer(String method, MemberSearchShape shape, String phase, String outcome) {
+        return Timer.builder(QUERY_METRIC)
+                .tag("method", method)
+                .tag("shape", shapeTag(shape))
+                .tag("nameMode", nameModeTag(shape))
+                .tag("phase", phase)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private void rows(String method, MemberSearchShape shape, long rows) {
+        DistributionSummary.builder(ROWS_METRIC)
+                .tag("method", method)
+                .tag("shape", shapeTag(shape))
+                .tag("nameMode", nameModeTag(shape))
+                .register(registry)
+                .record(rows);
+    }
+
+    private String shapeTag(MemberSearchShape shape) {
+        return shape == null ? NOT_SEARCH : shape.tag();
+    }
+
+    private String nameModeTag(MemberSearchShape shape) {
+        return shape == null ? NOT_SEARCH : shape.nameModeTag();
+    }
+}
@@ -0,0 +1,78 @@
+package com.querydsl.repository.support;
+
+import com.querydsl.dto.MemberSearchCondition;
+import com.querydsl.dto.MemberTeamDto;
+import com.querydsl.dto.NameSearchMode;
+
+import javax.persistence.TypedQuery;
+
+/**
+ * 검색 조건 모양 별로 미리 만들어 둔 JPQL
+ * - 매 요청마다 BooleanBuilder -> JPQL 직렬화 -> HQL 파싱 을 반복하지 않도록
+ *   같은 모양에는 항상 같은 JPQL 문자열을 사용 (Hibernate QueryPlanCache 가 파싱 결과를 재사용)
+ * - 요청 마다 파라미터 값만 바인딩
+**/
+public final class MemberSearchJpql {
+    private static final String SELECT =
+            "select new " + MemberTeamDto.class.getName() + "(m.id, m.name, m.age, t.id, t.name)" +
+            " from Member m left join m.team t";
+
+    private static final String[] JPQL = new String[MemberSearchShape.VARIANT_COUNT];
+
+    static {
+        for (NameSearchMode nameMode : NameSearchMode.values()) {
+            for (int mask = 0; mask < MemberSearchShape.SHAPE_COUNT; mask++) {
+                MemberSearchShape shape = MemberSearchShape.ofMask(mask, nameMode);
+                JPQL[shape.getIndex()] = SELECT + where(shape);
+            }
+        }
+    }
+
+    private MemberSearchJpql() {
+    }
+
+    public static String select(MemberSearchShape shape) {
+        return JPQL[shape.getIndex()];
+    }
+
+    public static <T> TypedQuery<T> bind(TypedQuery<T> query, MemberSearchShape shape, MemberSearchCondition condition) {
+        if (shape.hasName()) {
+            query.setParameter("name", MemberSearchPredicates.nameParam(condition));
+        }
+        if (shape.hasTeamName()) {
+            query.setParameter("teamName", condition.getTeamName());
+        }
+        if (shape.hasAgeGoe()) {
+            query.setParameter("ageGoe", condition.getAgeGoe());
+        }
+        if (shape.hasAgeLoe()) {
+            query.setParameter("ageLoe", condition.getAgeLoe());
+        }
+        return query;
+    }
+
+    private static String where(MemberSearchShape shape) {
+        StringBuilder where = new StringBuilder();
+        if (shape.hasName()) {
+            and(where).append(switch (shape.getNameMode()) {
+                case EXACT -> "m.name = :name";
+                case PREFIX -> "m.name like :name escape '" + MemberSearchPredicates.LIKE_ESCAPE + "'";
+                case FULLTEXT -> "function('match_against', m.name, :name) > 0";
+            });
+        }
+        if (shape.hasTeamName()) {
+            and(where).append("t.name = :teamName");
+        }
+        if (shape.hasAgeGoe()) {
+            and(where).append("m.age >= :ageGoe");
+        }
+        if (shape.hasAgeLoe()) {
+            and(where).append("m.age <= :ageLoe");
+        }
+        return where.toString();
+    }
+
+    private static StringBuilder and(StringBuilder where) {
+        return where.append(where.length() == 0 ? " where " : " and ");
+    }
+}
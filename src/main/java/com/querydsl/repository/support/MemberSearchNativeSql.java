@@ -0,0 +1,102 @@
+package com.querydsl.repository.support;
+
+import com.querydsl.dto.MemberSearchCondition;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 검색 조건 모양 별 네이티브 SQL
+ * - MemberSearchJpql 과 같은 조건을 테이블, 컬럼 이름으로 표현 (EXPLAIN, JDBC 직접 조회 용)
+ * - 파라미터는 ? 위치 기반, params() 순서로 바인딩
+**/
+public final class MemberSearchNativeSql {
+    // 회원, 팀 의 id, name 이 겹치므로 별칭 (Hibernate 네이티브 쿼리는 컬럼 이름이 중복 되면 실패)
+    public static final String COLUMNS = "m.id as member_id, m.name as username, m.age, t.id as team_id, t.name as team_name";
+    public static final String FROM = " from member m left outer join team t on m.team_id = t.id";
+    // 건수만 셀 때는 팀 이름 조건이 있을 때만 조인
+    public static final String FROM_MEMBER = " from member m";
+    // 컬럼 형식 조회 (MemberColumns) : 회원 이름 없이 숫자 컬럼 + 팀 이름
+    public static final String COLUMNAR_COLUMNS = "m.id, m.age, m.team_id, t.name";
+
+    private MemberSearchNativeSql() {
+    }
+
+    public static String select(MemberSearchShape shape) {
+        return "select " + COLUMNS + FROM + where(shape);
+    }
+
+    public static String selectColumnar(MemberSearchShape shape) {
+        return "select " + COLUMNAR_COLUMNS + FROM + where(shape);
+    }
+
+    /**
+     * 상한 까지만 세는 카운트
+     * - 조건에 맞는 row 를 limit 개 까지만 읽고 DB 안에서 센다 (id 를 애플리케이션 으로 가져오지 않음)
+     * - 파라미터 : params() 뒤에 limit
+    **/
+    public static String countCapped(MemberSearchShape shape) {
+        String from = shape.hasTeamName() ? FROM : FROM_MEMBER;
+        return "select count(*) from (select 1" + from + where(shape) + " limit ?) capped";
+    }
+
+    /**
+     * 여러 조건을 한번에 조회 하는 UNION ALL
+     * - 각 branch 는 조건 모양 별 SQL 앞에 조건 위치(batch_index) 를 붙인다
+     * - batch_index 는 호출 측 에서 만든 정수 이므로 리터럴로 넣는다
+    **/
+    public static String selectBatch(List<MemberSearchShape> shapes, List<Integer> batchIndexes) {
+        StringBuilder sql = new StringBuilder();
+        for (int i = 0; i < shapes.size(); i++) {
+            if (i > 0) {
+                sql.append(" union all ");
+            }
+            sql.append("select ").append(batchIndexes.get(i).intValue()).append(" as batch_index, ")
+                    .append(COLUMNS).append(FROM).append(where(shapes.get(i)));
+        }
+        return sql.toString();
+    }
+
+    public static String where(MemberSearchShape shape) {
+        StringBuilder where = new StringBuilder();
+        if (shape.hasName()) {
+            and(where).append(switch (shape.getNameMode()) {
+                case EXACT -> "m.name = ?";
+                case PREFIX -> "m.name like ? escape '" + MemberSearchPredicates.LIKE_ESCAPE + "'";
+                case FULLTEXT -> "match (m.name) against (? in boolean mode) > 0";
+            });
+        }
+        if (shape.hasTeamName()) {
+            and(where).append("t.name = ?");
+        }
+        if (shape.hasAgeGoe()) {
+            and(where).append("m.age >= ?");
+        }
+        if (shape.hasAgeLoe()) {
+            and(where).append("m.age <= ?");
+        }
+        return where.toString();
+    }
+
+    public static List<Object> params(MemberSearchCondition condition) {
+        MemberSearchShape shape = MemberSearchShape.of(condition);
+        List<Object> params = new ArrayList<>(4);
+        if (shape.hasName()) {
+            params.add(MemberSearchPredicates.nameParam(condition));
+        }
+        if (shape.hasTeamName()) {
+            params.add(condition.getTeamName());
+        }
+        if (shape.hasAgeGoe()) {
+            params.add(condition.getAgeGoe());
+        }
+        if (shape.hasAgeLoe()) {
+            params.add(condition.getAgeLoe());
+        }
+        return params;
+    }
+
+    private static StringBuilder and(StringBuilder where) {
+        return where.append(where.length() == 0 ? " where " : " and ");
+    }
+}
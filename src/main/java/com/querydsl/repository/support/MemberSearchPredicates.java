@@ -0,0 +1,119 @@
+package com.querydsl.repository.support;
+
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.dto.MemberSearchCondition;
+import org.springframework.util.StringUtils;
+
+import static com.querydsl.entity.QMember.member;
+import static com.querydsl.entity.QTeam.team;
+
+/**
+ * 검색 조건 -> Querydsl 조건 (여러 레포지토리 에서 재사용)
+ * - 값이 없는 조건은 null 을 반환 하고, where() 는 null 을 무시한다
+ * - teamName 조건은 member.team 을 team 으로 조인 해야 한다
+ * - name 조건은 nameMode 에 따라 =, like 'x%', match against 로 변환
+**/
+public final class MemberSearchPredicates {
+    public static final char LIKE_ESCAPE = '!';
+
+    private MemberSearchPredicates() {
+    }
+
+    public static Predicate[] of(MemberSearchCondition condition) {
+        return new Predicate[]{
+                name(condition),
+                teamNameEq(condition.getTeamName()),
+                ageGoe(condition.getAgeGoe()),
+                ageLoe(condition.getAgeLoe())
+        };
+    }
+
+    /**
+     * member -> team 은 ManyToOne 이므로 teamName 조건이 없으면 조인이 row 수에 영향이 없다
+    **/
+    public static boolean needsTeamJoin(MemberSearchCondition condition) {
+        return StringUtils.hasText(condition.getTeamName());
+    }
+
+    public static BooleanExpression name(MemberSearchCondition condition) {
+        if (!StringUtils.hasText(condition.getName())) {
+            return null;
+        }
+        return switch (condition.getNameMode()) {
+            case EXACT -> nameEq(condition.getName());
+            case PREFIX -> nameStartsWith(condition.getName());
+            case FULLTEXT -> nameContains(condition.getName());
+        };
+    }
+
+    public static BooleanExpression nameEq(String name) {
+        return StringUtils.hasText(name) ? member.name.eq(name) : null;
+    }
+
+    /**
+     * like 'x%' - MySQL 은 고정된 앞 부분을 인덱스 range 로 변환 ([x, x 다음 값) 범위)
+     * - 직접 name >= ? and name < ? 로 범위를 만들면 컬럼 collation(대소문자 무시 등) 과 순서가 달라질 수 있다
+    **/
+    public static BooleanExpression nameStartsWith(String prefix) {
+        return StringUtils.hasText(prefix) ? member.name.like(prefixPattern(prefix), LIKE_ESCAPE) : null;
+    }
+
+    /**
+     * match(name) against(? in boolean mode) - like '%x%' 와 달리 ngram FULLTEXT 인덱스 사용
+     * - match_against 는 MatchAgainstFunctionContributor 에서 등록
+     * - InnoDB FULLTEXT 인덱스는 커밋 시점에 반영 되므로 같은 트랜잭션 에서 저장한 회원은 검색 되지 않는다
+    **/
+    public static BooleanExpression nameContains(String text) {
+        return StringUtils.hasText(text)
+                ? Expressions.numberTemplate(Double.class, "function('match_against', {0}, {1})",
+                        member.name, fulltextQuery(text)).gt(0.0)
+                : null;
+    }
+
+    /**
+     * 모드 별로 바인딩 할 name 파라미터 값 (JPQL, 네이티브 SQL 공용)
+    **/
+    public static String nameParam(MemberSearchCondition condition) {
+        return switch (condition.getNameMode()) {
+            case EXACT -> condition.getName();
+            case PREFIX -> prefixPattern(condition.getName());
+            case FULLTEXT -> fulltextQuery(condition.getName());
+        };
+    }
+
+    /**
+     * 입력 값의 %, _ 는 문자 그대로 비교 하도록 escape
+    **/
+    public static String prefixPattern(String prefix) {
+        StringBuilder pattern = new StringBuilder(prefix.length() + 1);
+        for (char c : prefix.toCharArray()) {
+            if (c == LIKE_ESCAPE || c == '%' || c == '_') {
+                pattern.append(LIKE_ESCAPE);
+            }
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
+
+    /**
+     * boolean mode 연산자(+, -, *, ...) 를 무시 하도록 phrase 로 감싼다
+     * - ngram 파서는 phrase 를 연속된 n-gram 으로 검색 하므로 부분 일치(contains) 와 같다
+    **/
+    public static String fulltextQuery(String text) {
+        return '"' + text.replace('"', ' ') + '"';
+    }
+
+    public static BooleanExpression teamNameEq(String teamName) {
+        return StringUtils.hasText(teamName) ? team.name.eq(teamName) : null;
+    }
+
+    public static BooleanExpression ageGoe(Integer age) {
+        return age == null ? null : member.age.goe(age);
+    }
+
+    public static BooleanExpression ageLoe(Integer age) {
+        return age == null ? null : member.age.loe(age);
+    }
+}
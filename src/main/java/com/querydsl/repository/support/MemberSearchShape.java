@@ -0,0 +1,111 @@
+package com.querydsl.repository.support;
+
+import com.querydsl.dto.MemberSearchCondition;
+import com.querydsl.dto.NameSearchMode;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.util.StringUtils;
+
+import java.util.StringJoiner;
+
+/**
+ * 검색 조건의 모양 (어떤 조건이 지정 되었는지)
+ * - 값은 무시하고 name, teamName, ageGoe, ageLoe 의 존재 여부만 비트로 표현
+ * - 조건이 4 개 이므로 모양은 16 가지
+ * - name 이 있으면 검색 방식(nameMode) 별로 다른 모양 (name 이 없으면 항상 EXACT)
+**/
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class MemberSearchShape {
+    public static final int NAME = 1;
+    public static final int TEAM_NAME = 1 << 1;
+    public static final int AGE_GOE = 1 << 2;
+    public static final int AGE_LOE = 1 << 3;
+    public static final int SHAPE_COUNT = 1 << 4;
+    // 검색 방식 까지 포함한 모양 수 (index 범위)
+    public static final int VARIANT_COUNT = SHAPE_COUNT * NameSearchMode.values().length;
+
+    private static final MemberSearchShape[] SHAPES = new MemberSearchShape[VARIANT_COUNT];
+
+    static {
+        for (NameSearchMode nameMode : NameSearchMode.values()) {
+            for (int mask = 0; mask < SHAPE_COUNT; mask++) {
+                int index = nameMode.ordinal() * SHAPE_COUNT + mask;
+                SHAPES[index] = (mask & NAME) == 0 && nameMode != NameSearchMode.EXACT
+                        ? SHAPES[mask]
+                        : new MemberSearchShape(mask, nameMode, index);
+            }
+        }
+    }
+
+    private final int mask;
+    private final NameSearchMode nameMode;
+    // 모양 별 배열(미리 만든 JPQL 등) 의 위치
+    private final int index;
+
+    public static MemberSearchShape of(MemberSearchCondition condition) {
+        int mask = 0;
+        if (StringUtils.hasText(condition.getName())) {
+            mask |= NAME;
+        }
+        if (StringUtils.hasText(condition.getTeamName())) {
+            mask |= TEAM_NAME;
+        }
+        if (condition.getAgeGoe() != null) {
+            mask |= AGE_GOE;
+        }
+        if (condition.getAgeLoe() != null) {
+            mask |= AGE_LOE;
+        }
+        return ofMask(mask, condition.getNameMode());
+    }
+
+    public static MemberSearchShape ofMask(int mask) {
+        return SHAPES[mask];
+    }
+
+    public static MemberSearchShape ofMask(int mask, NameSearchMode nameMode) {
+        return SHAPES[nameMode.ordinal() * SHAPE_COUNT + mask];
+    }
+
+    public boolean hasName() {
+        return (mask & NAME) != 0;
+    }
+
+    public boolean hasTeamName() {
+        return (mask & TEAM_NAME) != 0;
+    }
+
+    public boolean hasAgeGoe() {
+        return (mask & AGE_GOE) != 0;
+    }
+
+    public boolean hasAgeLoe() {
+        return (mask & AGE_LOE) != 0;
+    }
+
+    /**
+     * 메트릭 태그 용 이름 검색 방식 (name 조건이 없으면 none)
+    **/
+    public String nameModeTag() {
+        return hasName() ? nameMode.tag() : "none";
+    }
+
+    /**
+     * 메트릭 태그, 로그 용 이름 (ex. name+ageGoe, none)
+    **/
+    public String tag() {
+        StringJoiner joiner = new StringJoiner("+");
+        if (hasName()) joiner.add("name");
+        if (hasTeamName()) joiner.add("teamName");
+        if (hasAgeGoe()) joiner.add("ageGoe");
+        if (hasAgeLoe()) joiner.add("ageLoe");
+        return joiner.length() == 0 ? "none" : joiner.toString();
+    }
+
+    @Override
+    public String toString() {
+        return hasName() && nameMode != NameSearchMode.EXACT ? tag() + "(" + nameModeTag() + ")" : tag();
+    }
+}
@@ -0,0 +1,30 @@
+package com.querydsl.repository.support;
+
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * PageableExecutionUtils 와 같은 규칙으로 컨텐츠 만으로 전체 수를 알 수 있는지 판단
+ * - 첫 페이지 이면서 컨텐츠가 페이지 크기보다 작을 때
+ * - 마지막 페이지 일 때 (offset + 컨텐츠 수)
+**/
+public final class PageTotals {
+
+    private PageTotals() {
+    }
+
+    public static OptionalLong known(List<?> content, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return OptionalLong.of(content.size());
+        }
+        if (pageable.getOffset() == 0 && pageable.getPageSize() > content.size()) {
+            return OptionalLong.of(content.size());
+        }
+        if (!content.isEmpty() && pageable.getPageSize() > content.size()) {
+            return OptionalLong.of(pageable.getOffset() + content.size());
+        }
+        return OptionalLong.empty();
+    }
+}
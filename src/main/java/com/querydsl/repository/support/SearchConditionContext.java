@@ -0,0 +1,68 @@
+package com.querydsl.repository.support;
+
+import com.querydsl.dto.MemberSearchCondition;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 현재 스레드 에서 실행 중인 검색 조건 (느린 쿼리 로그에 함께 기록)
+ * - 웹 요청 : 요청 본문의 MemberSearchCondition, 또는 일괄 검색의 조건 목록을 SearchConditionCaptureAdvice 가 등록
+ * - 다른 스레드(비동기 작업, 스트리밍) 로 넘길 때는 with(condition, ...) 로 다시 적용
+**/
+public final class SearchConditionContext {
+    // MemberSearchCondition 또는 List<MemberSearchCondition>
+    private static final ThreadLocal<Object> CURRENT = new ThreadLocal<>();
+
+    private SearchConditionContext() {
+    }
+
+    /**
+     * 로그 용 이므로 조건 하나 또는 조건 목록 그대로 반환
+    **/
+    public static Object current() {
+        return CURRENT.get();
+    }
+
+    public static <T> T with(MemberSearchCondition condition, Supplier<T> call) {
+        try (Scope scope = open(condition)) {
+            return call.get();
+        }
+    }
+
+    /**
+     * close 할 때 까지 condition 적용, 이전 상태로 복원 하므로 중첩 가능
+    **/
+    public static Scope open(MemberSearchCondition condition) {
+        Object previous = CURRENT.get();
+        replace(condition);
+        return () -> replace(previous);
+    }
+
+    /**
+     * 요청 단위 스코프(open) 안에서 조건만 교체
+    **/
+    public static void set(MemberSearchCondition condition) {
+        replace(condition);
+    }
+
+    /**
+     * 일괄 검색 (조건 목록)
+    **/
+    public static void setBatch(List<MemberSearchCondition> conditions) {
+        replace(conditions);
+    }
+
+    private static void replace(Object condition) {
+        if (condition == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(condition);
+        }
+    }
+
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,114 @@
+package com.querydsl.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.querydsl.dto.MemberSearchCondition;
+import com.querydsl.dto.MemberTeamDto;
+import com.querydsl.exception.InvalidSearchRequestException;
+import com.querydsl.repository.MemberRepository;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * 회원 검색 결과 내보내기
+ * - 결과를 List 로 모으지 않고 커서에서 읽는 대로 바로 Writer 에 쓴다
+ * - 조회 건수와 상관없이 메모리 사용량이 일정
+**/
+@Slf4j
+@Service
+public class MemberExportService {
+    private final MemberRepository memberRepository;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    public MemberExportService(MemberRepository memberRepository,
+                               ObjectMapper objectMapper,
+                               @Value("${querydsl.export.fetch-size:1000}") int fetchSize) {
+        this.memberRepository = memberRepository;
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Stream 은 트랜잭션(커넥션) 이 열려 있는 동안만 읽을 수 있다
+    **/
+    @Transactional(readOnly = true)
+    public long export(MemberSearchCondition condition, ExportFormat format, Writer writer) throws IOException {
+        long count = 0;
+
+        if (format == ExportFormat.CSV) {
+            writer.write("memberId,name,age,teamId,teamName\n");
+        }
+
+        try (Stream<MemberTeamDto> rows = memberRepository.searchStream(condition, fetchSize)) {
+            Iterator<MemberTeamDto> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                MemberTeamDto row = iterator.next();
+                if (format == ExportFormat.CSV) {
+                    writeCsv(writer, row);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(row));
+                    writer.write('\n');
+                }
+
+                // fetchSize 만큼 읽을 때마다 클라이언트로 흘려 보낸다
+                if (++count % fetchSize == 0) {
+                    writer.flush();
+                }
+            }
+        }
+
+        writer.flush();
+        log.info("member export finished. format = {}, rows = {}", format, count);
+        return count;
+    }
+
+    private void writeCsv(Writer writer, MemberTeamDto row) throws IOException {
+        writer.write(String.valueOf(row.getMemberId()));
+        writer.write(',');
+        writer.write(csv(row.getName()));
+        writer.write(',');
+        writer.write(String.valueOf(row.getAge()));
+        writer.write(',');
+        writer.write(row.getTeamId() == null ? "" : String.valueOf(row.getTeamId()));
+        writer.write(',');
+        writer.write(csv(row.getTeamName()));
+        writer.write('\n');
+    }
+
+    private String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public enum ExportFormat {
+        NDJSON("application/x-ndjson"),
+        CSV("text/csv");
+
+        private final String contentType;
+
+        public static ExportFormat from(String format) {
+            for (ExportFormat value : values()) {
+                if (value.name().equalsIgnoreCase(format)) {
+                    return value;
+                }
+            }
+            throw new InvalidSearchRequestException("지원 하지 않는 format 입니다. format = " + format);
+        }
+    }
+}
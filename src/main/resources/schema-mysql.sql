@@ -0,0 +1,4 @@
+-- ddl-auto 로 테이블 생성 후 실행 (spring.jpa.defer-datasource-initialization)
+-- @Index 로는 FULLTEXT 인덱스를 만들 수 없으므로 직접 생성
+-- ngram 파서 : 공백이 없는 이름(member123, 한글 이름) 도 n 글자 단위로 부분 일치 검색
+alter table member add fulltext index ft_member_name (name) with parser ngram;
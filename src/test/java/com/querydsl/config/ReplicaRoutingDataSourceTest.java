@@ -0,0 +1,100 @@
+package com.querydsl.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * primary, replica 를 서로 다른 임베디드 DB 로 두고 어느 쪽에서 읽었는지 확인
+**/
+public class ReplicaRoutingDataSourceTest {
+    private static final String WHERE_AM_I = "select name from node";
+
+    EmbeddedDatabase primary;
+    EmbeddedDatabase replica;
+    JdbcTemplate jdbcTemplate;
+    TransactionTemplate readWrite;
+    TransactionTemplate readOnly;
+
+    @BeforeEach
+    public void before() {
+        primary = node("primary");
+        replica = node("replica");
+
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource();
+        routingDataSource.setTargetDataSources(Map.of(
+                ReplicaRoutingDataSource.PRIMARY, primary,
+                ReplicaRoutingDataSource.REPLICA, replica));
+        routingDataSource.setDefaultTargetDataSource(primary);
+        routingDataSource.afterPropertiesSet();
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    public void after() {
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    @Test
+    public void readOnlyTransactionTest() {
+        assertThat(whereAmI(readOnly)).isEqualTo("replica");
+        assertThat(whereAmI(readWrite)).isEqualTo("primary");
+        // 트랜잭션 밖
+        assertThat(whereAmI()).isEqualTo("primary");
+    }
+
+    @Test
+    public void readYourWritesTest() {
+        String node = ReplicaRouting.primary(() -> whereAmI(readOnly));
+        assertThat(node).isEqualTo("primary");
+
+        // 중첩 후 복원
+        ReplicaRouting.primary(() -> ReplicaRouting.primary(() -> null));
+        assertThat(ReplicaRouting.isPrimaryForced()).isFalse();
+        assertThat(whereAmI(readOnly)).isEqualTo("replica");
+    }
+
+    @Test
+    public void joinedReadOnlyTest() {
+        // 쓰기 트랜잭션에 참여한 읽기 전용 조회는 같은 커넥션(primary) 사용
+        String node = readWrite.execute(status -> readOnly.execute(inner -> whereAmI()));
+        assertThat(node).isEqualTo("primary");
+    }
+
+    private String whereAmI(TransactionTemplate transaction) {
+        return transaction.execute(status -> whereAmI());
+    }
+
+    private String whereAmI() {
+        return jdbcTemplate.queryForObject(WHERE_AM_I, String.class);
+    }
+
+    private EmbeddedDatabase node(String name) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName(name + System.nanoTime())
+                .build();
+        JdbcTemplate template = new JdbcTemplate(database);
+        template.execute("create table node (name varchar(20))");
+        template.update("insert into node (name) values (?)", name);
+        return database;
+    }
+}
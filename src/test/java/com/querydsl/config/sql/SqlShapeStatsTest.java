@@ -0,0 +1,116 @@
+package com.querydsl.config.sql;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SqlShapeStatsTest {
+
+    @Test
+    public void normalizeTest() {
+        assertThat(SqlShapeStats.normalize("select m.name from member m\n  where m.age >= 10 and m.name = 'kim''s'"))
+                .isEqualTo("select m.name from member m where m.age >= ? and m.name = ?");
+        assertThat(SqlShapeStats.normalize("select * from member where member_id in (?, ?,?) limit 20"))
+                .isEqualTo("select * from member where member_id in (?...) limit ?");
+        // 별칭, 컬럼 이름의 숫자는 유지
+        assertThat(SqlShapeStats.normalize("select member0_.member_id as col_0_0_ from member member0_"))
+                .isEqualTo("select member0_.member_id as col_0_0_ from member member0_");
+    }
+
+    @Test
+    public void slowestTest() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SqlShapeStats stats = new SqlShapeStats(Duration.ofSeconds(1), 2);
+
+        stats.record("select * from member where age = 1", Duration.ofMillis(10).toNanos());
+        stats.bindTo(registry);
+        stats.record("select * from member where age = 2", Duration.ofMillis(30).toNanos());
+        stats.record("select * from team", Duration.ofMillis(5).toNanos());
+        // max-shapes 초과 -> other
+        stats.record("select * from team_statistics", Duration.ofMillis(100).toNanos());
+
+        List<SqlShapeSummary> slowest = stats.slowest(10);
+        assertThat(slowest).extracting(SqlShapeSummary::getSql)
+                .containsExactly(SqlShapeStats.OTHER, "select * from member where age = ?", "select * from team");
+        assertThat(slowest.get(1).getCount()).isEqualTo(2);
+        assertThat(slowest.get(1).getMeanMillis()).isEqualTo(20.0);
+        assertThat(slowest.get(1).getMaxMillis()).isEqualTo(30.0);
+        assertThat(stats.slowest(1)).hasSize(1);
+
+        // bindTo 이전 실행은 Timer 에 없음
+        assertThat(registry.get(SqlShapeStats.STATEMENT_METRIC)
+                .tags("shape", slowest.get(1).getId())
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @ExtendWith(OutputCaptureExtension.class)
+    public void slowLogTest(CapturedOutput output) {
+        SqlShapeStats stats = new SqlShapeStats(Duration.ofMillis(50), 1);
+
+        stats.record("select * from member where age = 1", Duration.ofMillis(10).toNanos());
+        // max-shapes 초과 로 other 에 합산 되어도 로그 에는 실행한 문장의 모양
+        stats.record("select * from team where name = 'teamA'", Duration.ofMillis(100).toNanos());
+
+        assertThat(output.getOut())
+                .contains("shape=" + SqlShapeStats.OTHER)
+                .contains("sql=select * from team where name = ?")
+                .doesNotContain("sql=" + SqlShapeStats.OTHER)
+                .doesNotContain("where age = ?");
+    }
+
+    @Test
+    public void shapeIdCollisionTest() {
+        SqlShapeStats stats = new SqlShapeStats(Duration.ofSeconds(1), 10);
+        // "Aa", "BB" 는 hashCode 가 같다
+        assertThat("select Aa".hashCode()).isEqualTo("select BB".hashCode());
+
+        stats.record("select Aa", Duration.ofMillis(10).toNanos());
+        stats.record("select BB", Duration.ofMillis(20).toNanos());
+
+        List<SqlShapeSummary> slowest = stats.slowest(10);
+        assertThat(slowest).extracting(SqlShapeSummary::getSql).containsExactly("select BB", "select Aa");
+        assertThat(slowest).extracting(SqlShapeSummary::getId).doesNotHaveDuplicates();
+        assertThat(slowest.get(0).getId()).isEqualTo(slowest.get(1).getId() + "-2");
+    }
+
+    @Test
+    public void dataSourceTest() {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        try {
+            SqlShapeStats stats = new SqlShapeStats(Duration.ofSeconds(1), 100);
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(new SqlStatsDataSource(database, stats));
+
+            jdbcTemplate.execute("create table node (id bigint, name varchar(10))");
+            jdbcTemplate.batchUpdate("insert into node values (?, ?)",
+                    List.of(new Object[]{1L, "a"}, new Object[]{2L, "b"}));
+            jdbcTemplate.queryForList("select name from node where id = ?", String.class, 1L);
+            jdbcTemplate.queryForList("select name from node where id = ?", String.class, 2L);
+            jdbcTemplate.queryForList("select name from node where id = 2", String.class);
+
+            assertThat(stats.slowest(10))
+                    .filteredOn(summary -> summary.getSql().equals("select name from node where id = ?"))
+                    .extracting(SqlShapeSummary::getCount)
+                    .containsExactly(3L);
+            assertThat(stats.slowest(10))
+                    .extracting(SqlShapeSummary::getSql)
+                    .contains("insert into node values (?...)", "create table node (id bigint, name varchar(?))");
+        } finally {
+            database.shutdown();
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package com.querydsl.repository;
+
+import com.querydsl.dto.MemberSearchCondition;
+import com.querydsl.dto.MemberTeamDto;
+import com.querydsl.entity.Member;
+import com.querydsl.entity.Team;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 병렬 페이징 (searchPageAsync)
+ * - 컨텐츠, 카운트 쿼리를 지정한 만큼 늦추는 DataSource 로 타임아웃, 취소 경로를 만든다
+ *   늦춘 쿼리는 Statement.cancel() 이 호출 되면 바로 실패 (DB 의 쿼리 중단과 같은 동작)
+ * - count-timeout 200ms -> 카운트 쿼리 타임아웃 1 초 (초 단위 올림)
+ * - 작업 스레드 에서 별도 트랜잭션 으로 읽으므로 @Transactional 대신 직접 정리
+**/
+@SpringBootTest(properties = {
+        "querydsl.async-page.timeout=500ms",
+        "querydsl.async-page.count-timeout=200ms"
+})
+public class MemberAsyncPageRepositoryTest {
+    private static final int MEMBER_COUNT = 30;
+    private static final long SLOW_MILLIS = 3000;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    MemberSearchCondition cond = MemberSearchCondition.builder().teamName("teamA").build();
+
+    @BeforeEach
+    public void before() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Team teamA = new Team("teamA");
+            em.persist(teamA);
+            for (int i = 0; i < MEMBER_COUNT; i++) {
+                em.persist(new Member("member" + i, i, teamA));
+            }
+        });
+        // 첫 호출 의 작업 스레드, 커넥션 생성 으로 count-timeout (200ms) 을 넘지 않도록 예열
+        memberRepository.searchPageAsync(cond, PageRequest.of(0, 10)).join();
+        SlowDataSource.reset();
+    }
+
+    @AfterEach
+    public void after() {
+        SlowDataSource.reset();
+        jdbcTemplate.update("delete from member");
+        jdbcTemplate.update("delete from team");
+        jdbcTemplate.update("delete from team_statistics");
+    }
+
+    @Test
+    public void parallelTest() throws Exception {
+        Page<MemberTeamDto> page = memberRepository.searchPageAsync(cond, PageRequest.of(0, 10)).get(5, TimeUnit.SECONDS);
+
+        assertThat(page.getContent()).hasSize(10);
+        assertThat(page.getTotalElements()).isEqualTo(MEMBER_COUNT);
+
+        // 컨텐츠, 카운트 모두 호출 스레드가 아닌 서로 다른 작업 스레드 에서 실행
+        String contentThread = SlowDataSource.thread(Query.CONTENT);
+        String countThread = SlowDataSource.thread(Query.COUNT);
+        assertThat(contentThread).isNotNull().isNotEqualTo(Thread.currentThread().getName());
+        assertThat(countThread).isNotNull().isNotEqualTo(Thread.currentThread().getName());
+        assertThat(contentThread).isNotEqualTo(countThread);
+    }
+
+    @Test
+    public void countTimeoutTest() throws Exception {
+        SlowDataSource.slow(Query.COUNT);
+
+        long start = System.nanoTime();
+        Page<MemberTeamDto> page = memberRepository.searchPageAsync(cond, PageRequest.of(0, 10)).get(5, TimeUnit.SECONDS);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // 카운트를 기다리지 않고 추정치 (최소 offset + size + 1) 로 응답, 실행 중인 카운트 쿼리는 중단
+        assertThat(elapsedMillis).isLessThan(SLOW_MILLIS);
+        assertThat(page.getContent()).hasSize(10);
+        assertThat(page.getTotalElements()).isGreaterThanOrEqualTo(11);
+        assertThat(SlowDataSource.await("cancel:" + Query.COUNT)).isTrue();
+        assertThat(SlowDataSource.events()).doesNotContain("done:" + Query.COUNT);
+        // 200ms -> 1 초 (0 초 는 타임아웃 없음)
+        assertThat(SlowDataSource.queryTimeoutSeconds(Query.COUNT)).isEqualTo(1);
+    }
+
+    @Test
+    public void contentTimeoutTest() throws Exception {
+        SlowDataSource.slow(Query.CONTENT);
+
+        CompletableFuture<Page<MemberTeamDto>> future = memberRepository.searchPageAsync(cond, PageRequest.of(0, 10));
+
+        assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(TimeoutException.class);
+        assertThat(SlowDataSource.await("cancel:" + Query.CONTENT)).isTrue();
+        assertThat(SlowDataSource.events()).doesNotContain("done:" + Query.CONTENT);
+    }
+
+    @Test
+    public void knownTotalTest() throws Exception {
+        SlowDataSource.slow(Query.COUNT);
+
+        // 마지막 페이지가 가득 차지 않으므로 컨텐츠 만으로 전체 수를 알 수 있다 -> 카운트 취소
+        Page<MemberTeamDto> page = memberRepository.searchPageAsync(cond, PageRequest.of(2, 12)).get(5, TimeUnit.SECONDS);
+
+        assertThat(page.getContent()).hasSize(6);
+        assertThat(page.getTotalElements()).isEqualTo(MEMBER_COUNT);
+        assertThat(SlowDataSource.events()).doesNotContain("done:" + Query.COUNT);
+    }
+
+    enum Query {
+        CONTENT, COUNT;
+
+        static Query of(String sql) {
+            String lower = sql.toLowerCase();
+            if (!lower.startsWith("select") || !lower.contains(" from member ")) {
+                return null;
+            }
+            return lower.contains("count(") ? COUNT : lower.contains(" limit ") ? CONTENT : null;
+        }
+    }
+
+    @TestConfiguration
+    static class SlowDataSourceConfig {
+        @Bean
+        static BeanPostProcessor slowDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return "dataSource".equals(beanName) && bean instanceof DataSource dataSource
+                            ? new SlowDataSource(dataSource)
+                            : bean;
+                }
+            };
+        }
+    }
+
+    /**
+     * slow(...) 로 지정한 쿼리를 SLOW_MILLIS 동안 늦추고 execute, cancel, 완료, setQueryTimeout, 실행 스레드를 기록
+    **/
+    static class SlowDataSource extends DelegatingDataSource {
+        private static final List<String> EVENTS = new CopyOnWriteArrayList<>();
+        private static volatile Query slow;
+
+        SlowDataSource(DataSource targetDataSource) {
+            super(targetDataSource);
+        }
+
+        static void slow(Query query) {
+            slow = query;
+        }
+
+        static void reset() {
+            slow = null;
+            EVENTS.clear();
+        }
+
+        static List<String> events() {
+            return List.copyOf(EVENTS);
+        }
+
+        /**
+         * 취소는 future 완료 콜백 에서 일어나므로 get() 이 먼저 반환 될 수 있다
+        **/
+        static boolean await(String event) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+            while (!EVENTS.contains(event)) {
+                if (System.nanoTime() > deadline) {
+                    return false;
+                }
+                Thread.sleep(10);
+            }
+            return true;
+        }
+
+        static String thread(Query query) {
+            return value("thread:" + query);
+        }
+
+        static Integer queryTimeoutSeconds(Query query) {
+            String seconds = value("timeout:" + query);
+            return seconds == null ? null : Integer.valueOf(seconds);
+        }
+
+        private static String value(String prefix) {
+            return EVENTS.stream()
+                    .filter(event -> event.startsWith(prefix + "="))
+                    .map(event -> event.substring(prefix.length() + 1))
+                    .findFirst()
+                    .orElse(null);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return connection(obtainTargetDataSource().getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return connection(obtainTargetDataSource().getConnection(username, password));
+        }
+
+        private Connection connection(Connection target) {
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{ConnectionProxy.class},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "equals" -> proxy == args[0];
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        case "getTargetConnection" -> target;
+                        case "prepareStatement" -> statement((PreparedStatement) invoke(target, method, args), Query.of((String) args[0]));
+                        default -> invoke(target, method, args);
+                    });
+        }
+
+        private PreparedStatement statement(PreparedStatement target, Query query) {
+            if (query == null) {
+                return target;
+            }
+            CountDownLatch cancelled = new CountDownLatch(1);
+            return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{PreparedStatement.class},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "setQueryTimeout" -> {
+                            EVENTS.add("timeout:" + query + "=" + args[0]);
+                            yield invoke(target, method, args);
+                        }
+                        case "cancel" -> {
+                            EVENTS.add("cancel:" + query);
+                            cancelled.countDown();
+                            yield invoke(target, method, args);
+                        }
+                        case "executeQuery" -> {
+                            EVENTS.add("thread:" + query + "=" + Thread.currentThread().getName());
+                            if (query == slow && cancelled.await(SLOW_MILLIS, TimeUnit.MILLISECONDS)) {
+                                throw new SQLTimeoutException("statement cancelled");
+                            }
+                            Object result = invoke(target, method, args);
+                            EVENTS.add("done:" + query);
+                            yield result;
+                        }
+                        default -> invoke(target, method, args);
+                    });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
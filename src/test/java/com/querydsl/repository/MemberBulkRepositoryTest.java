@@ -0,0 +1,114 @@
+package com.querydsl.repository;
+
+import com.querydsl.dto.BulkProgress;
+import com.querydsl.dto.MemberSearchCondition;
+import com.querydsl.entity.Member;
+import com.querydsl.entity.Team;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * chunk 마다 별도 트랜잭션 으로 커밋 되므로 @Transactional 대신 직접 정리
+**/
+@SpringBootTest(properties = "querydsl.bulk.chunk-size=10")
+public class MemberBulkRepositoryTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    MemberBulkRepository memberBulkRepository;
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+
+    @BeforeEach
+    public void before() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Team teamA = new Team("teamA");
+            Team teamB = new Team("teamB");
+            em.persist(teamA);
+            em.persist(teamB);
+
+            for (int i = 0; i < 35; i++) {
+                em.persist(new Member("member" + i, i, i % 2 == 0 ? teamA : teamB));
+            }
+        });
+    }
+
+    @AfterEach
+    public void after() {
+        jdbcTemplate.update("delete from member");
+        jdbcTemplate.update("delete from team");
+        jdbcTemplate.update("delete from team_statistics");
+    }
+
+    @Test
+    public void incrementAgeTest() {
+        List<BulkProgress> progress = new ArrayList<>();
+        MemberSearchCondition cond = MemberSearchCondition.builder().teamName("teamA").build();
+
+        long affected = memberBulkRepository.incrementAge(cond, 100, progress::add);
+
+        // teamA = 짝수 18 명, id 범위 35 개 -> 10 개씩 4 chunk
+        assertThat(affected).isEqualTo(18);
+        assertThat(progress).hasSize(4);
+        assertThat(progress.get(3).getAffectedRows()).isEqualTo(18);
+        assertThat(memberJpaRepository.searchByWhere(MemberSearchCondition.builder().ageGoe(100).build()))
+                .hasSize(18)
+                .extracting("teamName").containsOnly("teamA");
+    }
+
+    @Test
+    public void deleteTest() {
+        MemberSearchCondition cond = MemberSearchCondition.builder().ageGoe(30).build();
+
+        long affected = memberBulkRepository.delete(cond, null);
+
+        assertThat(affected).isEqualTo(5);
+        assertThat(memberJpaRepository.findAll()).hasSize(30);
+    }
+
+    @Test
+    public void detachInCallerTransactionTest() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Member managed = memberJpaRepository.findMemberByName_queryDsl("member1").get(0);
+
+            memberBulkRepository.incrementAge(MemberSearchCondition.builder().name("member3").build(), 1, null);
+
+            assertThat(em.contains(managed)).isFalse();
+        });
+    }
+
+    @Test
+    public void flushCallerChangesTest() {
+        transactionTemplate.executeWithoutResult(status -> {
+            // member3(teamB) 와 다른 팀 이어야 chunk 트랜잭션의 팀 통계 갱신이 호출 측 락을 기다리지 않는다
+            Member removed = memberJpaRepository.findMemberByName_queryDsl("member0").get(0);
+            em.remove(removed);
+
+            memberBulkRepository.incrementAge(MemberSearchCondition.builder().name("member3").build(), 1, null);
+        });
+
+        // 벌크 연산 전에 flush 되므로 준영속 처리 후에도 삭제가 반영 된다
+        assertThat(memberJpaRepository.findMemberByName_queryDsl("member0")).isEmpty();
+        assertThat(memberJpaRepository.findMemberByName_queryDsl("member3").get(0).getAge()).isEqualTo(4);
+    }
+}
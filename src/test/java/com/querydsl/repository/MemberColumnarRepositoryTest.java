@@ -0,0 +1,73 @@
+package com.querydsl.repository;
+
+import com.querydsl.dto.MemberColumns;
+import com.querydsl.dto.MemberSearchCondition;
+import com.querydsl.dto.MemberTeamDto;
+import com.querydsl.entity.Member;
+import com.querydsl.entity.Team;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+public class MemberColumnarRepositoryTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    MemberColumnarRepository memberColumnarRepository;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Test
+    public void searchTest() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        // 초기 용량(1024) 보다 많이 저장 해서 배열 확장도 검증
+        for (int i = 0; i < 3000; i++) {
+            em.persist(new Member("member" + i, i % 100, i % 3 == 0 ? null : (i % 3 == 1 ? teamA : teamB)));
+        }
+        em.flush();
+        em.clear();
+
+        MemberSearchCondition condition = MemberSearchCondition.builder().ageGoe(50).build();
+        MemberColumns columns = memberColumnarRepository.search(condition);
+        List<MemberTeamDto> expected = memberRepository.search(condition);
+
+        assertThat(columns.getSize()).isEqualTo(expected.size());
+        assertThat(columns.getIds()).hasSize(expected.size());
+        assertThat(columns.getTeamNames()).containsExactlyInAnyOrder("teamA", "teamB");
+
+        // 정렬 조건이 없으므로 id 로 비교
+        Map<Long, MemberTeamDto> expectedById = expected.stream()
+                .collect(Collectors.toMap(MemberTeamDto::getMemberId, Function.identity()));
+
+        for (int i = 0; i < columns.getSize(); i++) {
+            MemberTeamDto row = expectedById.get(columns.getIds()[i]);
+            assertThat(row).isNotNull();
+            assertThat(columns.getAges()[i]).isEqualTo(row.getAge());
+            assertThat(columns.teamName(i)).isEqualTo(row.getTeamName());
+            if (row.getTeamId() == null) {
+                assertThat(columns.getTeamIds()[i]).isZero();
+                assertThat(columns.getTeamNameCodes()[i]).isEqualTo(MemberColumns.NO_TEAM);
+            } else {
+                assertThat(columns.getTeamIds()[i]).isEqualTo(row.getTeamId());
+            }
+        }
+    }
+}
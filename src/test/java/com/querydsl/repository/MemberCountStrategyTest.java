@@ -0,0 +1,82 @@
+package com.querydsl.repository;
+
+import com.querydsl.dto.CountStrategy;
+import com.querydsl.dto.MemberCountedPage;
+import com.querydsl.dto.MemberSearchCondition;
+import com.querydsl.entity.Member;
+import com.querydsl.entity.Team;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 상한(querydsl.count.cap) 보다 많은 데이터 에서 CAPPED, ESTIMATED 동작
+ * - 첫 페이지(가득 찬 페이지) 를 조회 해야 마지막 페이지 생략 없이 카운트 경로를 탄다
+**/
+@SpringBootTest(properties = "querydsl.count.cap=3")
+@Transactional
+public class MemberCountStrategyTest {
+    private static final int MEMBER_COUNT = 10;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    MemberSearchCondition cond = MemberSearchCondition.builder().teamName("teamA").build();
+
+    @BeforeEach
+    public void before() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        for (int i = 0; i < MEMBER_COUNT; i++) {
+            em.persist(new Member("member" + i, i, teamA));
+        }
+        em.persist(new Member("other", 20, teamB));
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    public void cappedOverCapTest() {
+        MemberCountedPage page = memberRepository.searchPage(cond, PageRequest.of(0, 2), CountStrategy.CAPPED);
+
+        assertThat(page.getContent()).hasSize(2);
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.isTotalExact()).isFalse();
+        assertThat(page.getTotalLabel()).isEqualTo("3+");
+    }
+
+    @Test
+    public void cappedUnderCapTest() {
+        MemberSearchCondition narrow = MemberSearchCondition.builder().teamName("teamA").ageLoe(2).build();
+
+        MemberCountedPage page = memberRepository.searchPage(narrow, PageRequest.of(0, 2), CountStrategy.CAPPED);
+
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.isTotalExact()).isTrue();
+        assertThat(page.getTotalLabel()).isEqualTo("3");
+    }
+
+    @Test
+    public void estimatedTest() {
+        MemberCountedPage page = memberRepository.searchPage(cond, PageRequest.of(0, 2), CountStrategy.ESTIMATED);
+
+        // EXPLAIN 예상치 이므로 값은 통계에 따라 다르지만 현재 페이지 + 1 건 이상, 정확한 값 아님
+        assertThat(page.getContent()).hasSize(2);
+        assertThat(page.getTotalElements()).isGreaterThanOrEqualTo(3);
+        assertThat(page.isTotalExact()).isFalse();
+        assertThat(page.getTotalLabel()).startsWith("약 ");
+    }
+}
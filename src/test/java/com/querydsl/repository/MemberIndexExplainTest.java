@@ -0,0 +1,250 @@
+package com.querydsl.repository;
+
+import com.querydsl.dto.MemberInsertRow;
+import com.querydsl.dto.MemberSearchCondition;
+import com.querydsl.dto.NameSearchMode;
+import com.querydsl.entity.Team;
+import com.querydsl.repository.support.MemberSearchNativeSql;
+import com.querydsl.repository.support.MemberSearchShape;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 16 가지 검색 조건 모양 x 이름 검색 방식 별 실행 계획 검증
+ * - Querydsl(search), 미리 만든 JPQL(searchByShape) 로 Hibernate 가 실제 실행한 SQL 과 바인딩 값을 캡처 해서 EXPLAIN
+ *   (네이티브 SQL(MemberSearchNativeSql) 도 같은 조건으로 검증)
+ * - 나이 값은 전체의 2% (40 행) 만 걸리는 좁은 범위 (40 ~ 41, 98 이상, 1 이하)
+ *   범위가 넓으면 옵티마이저가 idx_member_age 대신 full scan 을 고르는 것이 정상 이므로 검증 할 수 없다
+ * - 검색 조건이 걸린 테이블은 사용할 수 있는 인덱스(possible_keys) 가 있고 full scan (type = ALL) 이 아니어야 한다
+ * - 조건이 없는 모양(0) 은 member full scan, team 은 PK 조인
+ * - ANALYZE TABLE 은 암묵적 커밋을 발생 시키므로 @Transactional 대신 직접 정리
+**/
+@SpringBootTest
+public class MemberIndexExplainTest {
+    private static final int TEAM_COUNT = 20;
+    private static final int MEMBER_COUNT = 2000;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    MemberBulkInsertRepository memberBulkInsertRepository;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+
+    @BeforeEach
+    public void before() {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Team> teams = new ArrayList<>();
+            for (int i = 0; i < TEAM_COUNT; i++) {
+                Team team = new Team("team" + i);
+                em.persist(team);
+                teams.add(team);
+            }
+
+            memberBulkInsertRepository.insertAll(IntStream.range(0, MEMBER_COUNT)
+                    .mapToObj(i -> MemberInsertRow.of("member" + i, i % 100, teams.get(i % TEAM_COUNT).getId())));
+        });
+
+        jdbcTemplate.execute("analyze table member, team");
+    }
+
+    @AfterEach
+    public void after() {
+        jdbcTemplate.update("delete from member");
+        jdbcTemplate.update("delete from team");
+        jdbcTemplate.update("delete from team_statistics");
+    }
+
+    @Test
+    public void explainAllShapesTest() {
+        for (NameSearchMode nameMode : NameSearchMode.values()) {
+            for (int mask = 0; mask < MemberSearchShape.SHAPE_COUNT; mask++) {
+                MemberSearchShape shape = MemberSearchShape.ofMask(mask, nameMode);
+                MemberSearchCondition condition = MemberSearchCondition.builder()
+                        .name(shape.hasName() ? "member7" : null)
+                        .nameMode(nameMode)
+                        .teamName(shape.hasTeamName() ? "team3" : null)
+                        .ageGoe(shape.hasAgeGoe() ? (shape.hasAgeLoe() ? 40 : 98) : null)
+                        .ageLoe(shape.hasAgeLoe() ? (shape.hasAgeGoe() ? 41 : 1) : null)
+                        .build();
+
+                verifyPlan(shape, "search", capture(() -> memberRepository.search(condition)));
+                verifyPlan(shape, "searchByShape", capture(() -> memberJpaRepository.searchByShape(condition)));
+                verifyPlan(shape, "native", new CapturedStatement(
+                        MemberSearchNativeSql.select(shape), MemberSearchNativeSql.params(condition)));
+            }
+        }
+    }
+
+    /**
+     * 지연 조인 1 단계 (order by name, id) 는 정렬용 인덱스 만으로 읽는다 (filesort 없음)
+    **/
+    @Test
+    public void deferredNameSortTest() {
+        List<CapturedStatement> captured = CapturingDataSource.capture(() -> memberRepository.searchPageDeferred(
+                new MemberSearchCondition(), PageRequest.of(50, 20, Sort.by("name"))));
+        CapturedStatement idQuery = captured.get(0);
+
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("explain " + idQuery.sql, idQuery.params.toArray());
+        assertThat(plan).hasSize(1);
+        assertThat(plan.get(0).get("key")).as("plan = %s", plan).isEqualTo("idx_member_name");
+        assertThat(String.valueOf(plan.get(0).get("Extra"))).as("plan = %s", plan)
+                .contains("Using index")
+                .doesNotContain("filesort");
+    }
+
+    private void verifyPlan(MemberSearchShape shape, String source, CapturedStatement statement) {
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("explain " + statement.sql, statement.params.toArray());
+        boolean memberFiltered = shape.hasName() || shape.hasAgeGoe() || shape.hasAgeLoe() || shape.hasTeamName();
+
+        for (Map<String, Object> row : plan) {
+            String description = String.format("source = %s, shape = %s, table = %s, sql = %s, plan = %s",
+                    source, shape, row.get("table"), statement.sql, plan);
+            String table = String.valueOf(row.get("table"));
+            boolean teamTable = table.equals("t") || table.startsWith("team");
+
+            if (teamTable || memberFiltered) {
+                assertThat(row.get("possible_keys")).as(description).isNotNull();
+                assertThat(row.get("type")).as(description).isNotEqualTo("ALL");
+            }
+        }
+    }
+
+    /**
+     * query 실행 중 prepare 된 select 문 1 개와 바인딩 값
+    **/
+    private CapturedStatement capture(Supplier<?> query) {
+        List<CapturedStatement> captured = CapturingDataSource.capture(query);
+        assertThat(captured).hasSize(1);
+        return captured.get(0);
+    }
+
+    static class CapturedStatement {
+        final String sql;
+        final List<Object> params;
+
+        CapturedStatement(String sql, List<Object> params) {
+            this.sql = sql;
+            this.params = params;
+        }
+    }
+
+    @TestConfiguration
+    static class CaptureConfig {
+        @Bean
+        static BeanPostProcessor capturingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return "dataSource".equals(beanName) && bean instanceof DataSource dataSource
+                            ? new CapturingDataSource(dataSource)
+                            : bean;
+                }
+            };
+        }
+    }
+
+    /**
+     * capture(...) 중인 스레드 에서 실행 된 PreparedStatement 의 SQL, set* 로 바인딩 된 값을 기록
+    **/
+    static class CapturingDataSource extends DelegatingDataSource {
+        private static final ThreadLocal<List<CapturedStatement>> CAPTURED = new ThreadLocal<>();
+
+        CapturingDataSource(DataSource targetDataSource) {
+            super(targetDataSource);
+        }
+
+        static List<CapturedStatement> capture(Supplier<?> query) {
+            List<CapturedStatement> captured = new ArrayList<>();
+            CAPTURED.set(captured);
+            try {
+                query.get();
+            } finally {
+                CAPTURED.remove();
+            }
+            return captured;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return connection(obtainTargetDataSource().getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return connection(obtainTargetDataSource().getConnection(username, password));
+        }
+
+        private Connection connection(Connection target) {
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{ConnectionProxy.class},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "equals" -> proxy == args[0];
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        case "getTargetConnection" -> target;
+                        case "prepareStatement" -> statement((PreparedStatement) invoke(target, method, args), (String) args[0]);
+                        default -> invoke(target, method, args);
+                    });
+        }
+
+        private PreparedStatement statement(PreparedStatement target, String sql) {
+            Map<Integer, Object> params = new TreeMap<>();
+            return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{PreparedStatement.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                            params.put(index, method.getName().equals("setNull") ? null : args[1]);
+                        } else if (method.getName().equals("executeQuery") && CAPTURED.get() != null) {
+                            CAPTURED.get().add(new CapturedStatement(sql, new ArrayList<>(params.values())));
+                        }
+                        return invoke(target, method, args);
+                    });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package com.querydsl.repository;
 
+import com.querydsl.dto.MemberInsertRow;
 import com.querydsl.dto.MemberSearchCondition;
 import com.querydsl.dto.MemberTeamDto;
 import com.querydsl.entity.Member;
 import com.querydsl.entity.Team;
+import com.querydsl.repository.support.MemberSearchShape;
+import org.hibernate.engine.spi.SessionImplementor;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -12,6 +15,7 @@ import org.springframework.transaction.annotation.Transactional;
 import javax.persistence.EntityManager;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -25,6 +29,9 @@ public class MemberJpaRepositoryTest {
     @Autowired
     MemberJpaRepository memberJpaRepository;
 
+    @Autowired
+    MemberBulkInsertRepository memberBulkInsertRepository;
+
     @Test
     public void basicQueryDslTest() {
         Member member1 = new Member("member1", 10);
@@ -38,6 +45,26 @@ public class MemberJpaRepositoryTest {
         List<Member> member01 = this.memberJpaRepository.findAll_queryDsl();
     }
 
+    @Test
+    public void findDtoTest() {
+        memberJpaRepository.saveAll(Arrays.asList(
+                new Member("member1", 10),
+                new Member("member2", 20),
+                new Member("member2", 30)));
+        // 저장한 엔티티는 영속 상태 이므로 비운 뒤 조회
+        em.clear();
+
+        assertThat(memberJpaRepository.findAllDto()).extracting("name")
+                .containsExactlyInAnyOrder("member1", "member2", "member2");
+        assertThat(memberJpaRepository.findAllDto_queryDsl()).hasSize(3);
+        assertThat(memberJpaRepository.findDtoByName_queryDsl("member2")).extracting("age")
+                .containsExactlyInAnyOrder(20, 30);
+
+        // 엔티티를 영속성 컨텍스트에 올리지 않는다
+        assertThat(em.unwrap(SessionImplementor.class).getPersistenceContext().getNumberOfManagedEntities())
+                .isZero();
+    }
+
     @Test
     public void searchTest() {
         Team teamA = new Team("teamA");
@@ -72,4 +99,65 @@ public class MemberJpaRepositoryTest {
             System.out.println("memberTeamDto = " + memberTeamDto);
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void searchByShapeTest() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamB));
+        em.persist(new Member("member4", 40));
+
+        // 16 가지 모양 모두 BooleanBuilder 결과와 동일 해야 한다
+        for (int mask = 0; mask < MemberSearchShape.SHAPE_COUNT; mask++) {
+            MemberSearchShape shape = MemberSearchShape.ofMask(mask);
+            MemberSearchCondition condition = MemberSearchCondition.builder()
+                    .name(shape.hasName() ? "member2" : null)
+                    .teamName(shape.hasTeamName() ? "teamA" : null)
+                    .ageGoe(shape.hasAgeGoe() ? 15 : null)
+                    .ageLoe(shape.hasAgeLoe() ? 35 : null)
+                    .build();
+
+            assertThat(MemberSearchShape.of(condition)).isSameAs(shape);
+            assertThat(memberJpaRepository.searchByShape(condition))
+                    .usingRecursiveFieldByFieldElementComparator()
+                    .containsExactlyInAnyOrderElementsOf(memberJpaRepository.searchByBuilder(condition));
+        }
+    }
+
+    @Test
+    public void bulkInsertTest() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+
+        em.flush();
+        Long teamId = teamA.getId();
+
+        // 목록을 만들지 않고 Stream 으로 전달
+        int inserted = memberBulkInsertRepository.insertAll(IntStream.range(0, 2500)
+                .mapToObj(i -> MemberInsertRow.of("bulk" + i, i % 100, i % 2 == 0 ? teamId : null)));
+
+        assertThat(inserted).isEqualTo(2500);
+        MemberSearchCondition condition = MemberSearchCondition.builder().teamName("teamA").build();
+        assertThat(memberJpaRepository.searchByWhere(condition)).hasSize(1250);
+        // 대량 적재 row 는 Team.members 에 추가 되지 않는다
+        assertThat(teamA.getMembers()).isEmpty();
+    }
+
+    @Test
+    public void saveAllBatchTest() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+
+        int saved = memberJpaRepository.saveAllBatch(List.of(
+                MemberInsertRow.of("batch1", 10, teamA.getId()),
+                MemberInsertRow.of("batch2", 20, null)));
+
+        assertThat(saved).isEqualTo(2);
+        assertThat(memberJpaRepository.findMemberByName_queryDsl("batch1")).hasSize(1);
+    }
+}
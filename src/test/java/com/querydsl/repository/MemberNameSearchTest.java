@@ -0,0 +1,144 @@
+package com.querydsl.repository;
+
+import com.querydsl.dto.MemberSearchCondition;
+import com.querydsl.dto.MemberTeamDto;
+import com.querydsl.dto.NameSearchMode;
+import com.querydsl.entity.Member;
+import com.querydsl.entity.Team;
+import com.querydsl.repository.support.MemberQueryMetrics;
+import com.querydsl.repository.support.MemberSearchNativeSql;
+import com.querydsl.repository.support.MemberSearchShape;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 이름 검색 방식 (EXACT, PREFIX, FULLTEXT)
+ * - InnoDB FULLTEXT 인덱스는 커밋 된 데이터만 검색 되므로 @Transactional 대신 직접 정리
+**/
+@SpringBootTest
+public class MemberNameSearchTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void before() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Team teamA = new Team("teamA");
+            Team teamB = new Team("teamB");
+            em.persist(teamA);
+            em.persist(teamB);
+
+            em.persist(new Member("kim_jun", 10, teamA));
+            em.persist(new Member("kimjun", 20, teamA));
+            em.persist(new Member("park_kim", 30, teamB));
+            em.persist(new Member("lee", 40, teamB));
+        });
+    }
+
+    @AfterEach
+    public void after() {
+        jdbcTemplate.update("delete from member");
+        jdbcTemplate.update("delete from team");
+        jdbcTemplate.update("delete from team_statistics");
+    }
+
+    @Test
+    public void prefixTest() {
+        assertThat(names(search("kim", NameSearchMode.PREFIX)))
+                .containsExactlyInAnyOrder("kim_jun", "kimjun");
+
+        // _ 는 like 와일드 카드가 아니라 문자 그대로 비교
+        assertThat(names(search("kim_", NameSearchMode.PREFIX)))
+                .containsExactly("kim_jun");
+    }
+
+    @Test
+    public void fulltextTest() {
+        assertThat(names(search("kim", NameSearchMode.FULLTEXT)))
+                .containsExactlyInAnyOrder("kim_jun", "kimjun", "park_kim");
+    }
+
+    @Test
+    public void allRepositoriesSameResultTest() {
+        for (NameSearchMode nameMode : NameSearchMode.values()) {
+            for (int mask = 0; mask < MemberSearchShape.SHAPE_COUNT; mask++) {
+                MemberSearchShape shape = MemberSearchShape.ofMask(mask, nameMode);
+                MemberSearchCondition condition = MemberSearchCondition.builder()
+                        .name(shape.hasName() ? "kim" : null)
+                        .nameMode(nameMode)
+                        .teamName(shape.hasTeamName() ? "teamA" : null)
+                        .ageGoe(shape.hasAgeGoe() ? 15 : null)
+                        .ageLoe(shape.hasAgeLoe() ? 35 : null)
+                        .build();
+
+                assertThat(MemberSearchShape.of(condition)).isSameAs(shape);
+
+                List<MemberTeamDto> expected = memberJpaRepository.searchByBuilder(condition);
+                assertThat(memberJpaRepository.searchByShape(condition))
+                        .as("shape = %s", shape)
+                        .usingRecursiveFieldByFieldElementComparator()
+                        .containsExactlyInAnyOrderElementsOf(expected);
+                assertThat(memberRepository.search(condition))
+                        .as("shape = %s", shape)
+                        .usingRecursiveFieldByFieldElementComparator()
+                        .containsExactlyInAnyOrderElementsOf(expected);
+                assertThat(jdbcTemplate.queryForList(
+                        "select count(*)" + MemberSearchNativeSql.FROM + MemberSearchNativeSql.where(shape),
+                        Long.class, MemberSearchNativeSql.params(condition).toArray()))
+                        .as("shape = %s", shape)
+                        .containsExactly((long) expected.size());
+            }
+        }
+    }
+
+    @Test
+    public void nameModeMetricTest() {
+        search("kim", NameSearchMode.PREFIX);
+        search("kim", NameSearchMode.FULLTEXT);
+
+        assertThat(meterRegistry.get(MemberQueryMetrics.QUERY_METRIC)
+                .tags("method", "searchByShape", "nameMode", "prefix")
+                .timer().count()).isGreaterThanOrEqualTo(1);
+        assertThat(meterRegistry.get(MemberQueryMetrics.QUERY_METRIC)
+                .tags("method", "searchByShape", "nameMode", "fulltext")
+                .timer().count()).isGreaterThanOrEqualTo(1);
+    }
+
+    private List<MemberTeamDto> search(String name, NameSearchMode nameMode) {
+        return memberJpaRepository.searchByShape(MemberSearchCondition.builder()
+                .name(name)
+                .nameMode(nameMode)
+                .build());
+    }
+
+    private List<String> names(List<MemberTeamDto> result) {
+        return result.stream().map(MemberTeamDto::getName).toList();
+    }
+}
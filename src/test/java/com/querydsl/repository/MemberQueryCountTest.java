@@ -0,0 +1,99 @@
+package com.querydsl.repository;
+
+import com.querydsl.entity.Member;
+import com.querydsl.entity.Team;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * N+1 회귀 방지 - 레포지토리 호출 + 연관 엔티티 접근 시 실행 되는 SQL 수 검증
+ * - hibernate.generate_statistics=true (test application.yml)
+**/
+@SpringBootTest
+@Transactional
+public class MemberQueryCountTest {
+    private static final int TEAM_COUNT = 5;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    TeamRepository teamRepository;
+
+    @BeforeEach
+    public void before() {
+        for (int i = 0; i < TEAM_COUNT; i++) {
+            Team team = new Team("team" + i);
+            em.persist(team);
+            em.persist(new Member("member", 10 * i, team));
+            em.persist(new Member("member" + i, 10 * i, team));
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    public void fetchJoinTest() {
+        assertStatementCount(1, () -> touchTeams(memberJpaRepository.findAllWithTeam_queryDsl()));
+        em.clear();
+        assertStatementCount(1, () -> touchTeams(memberJpaRepository.findMemberByNameWithTeam_queryDsl("member")));
+    }
+
+    @Test
+    public void entityGraphTest() {
+        assertStatementCount(1, () -> touchTeams(memberRepository.findAllWithTeam()));
+        em.clear();
+        assertStatementCount(1, () -> touchTeams(memberRepository.findWithTeamByName("member")));
+        em.clear();
+        assertStatementCount(1, () -> teamRepository.findAllWithMembers().stream()
+                .mapToInt(team -> team.getMembers().size())
+                .sum());
+    }
+
+    @Test
+    public void batchFetchTest() {
+        // 지연 로딩 이지만 team 5 개는 in 쿼리 한번으로 조회 (1 + 1)
+        assertStatementCount(2, () -> touchTeams(memberJpaRepository.findAll_queryDsl()));
+        em.clear();
+        assertStatementCount(2, () -> touchTeams(memberRepository.findByName("member")));
+        em.clear();
+        assertStatementCount(2, () -> teamRepository.findAll().stream()
+                .mapToInt(team -> team.getMembers().size())
+                .sum());
+    }
+
+    private int touchTeams(List<Member> members) {
+        return (int) members.stream()
+                .filter(member -> member.getTeam() != null)
+                .map(member -> member.getTeam().getName())
+                .count();
+    }
+
+    private void assertStatementCount(long expected, Supplier<?> repositoryCall) {
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        repositoryCall.get();
+
+        assertThat(statistics.getPrepareStatementCount())
+                .as("SQL 실행 수")
+                .isEqualTo(expected);
+    }
+}
@@ -0,0 +1,132 @@
+package com.querydsl.repository;
+
+import com.querydsl.dto.MemberSearchCondition;
+import com.querydsl.dto.MemberTeamDto;
+import com.querydsl.entity.Member;
+import com.querydsl.entity.Team;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.BaseSubscriber;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Flux 검색
+ * - 조회는 다른 스레드의 커넥션 에서 실행 되므로 @Transactional 대신 커밋 후 직접 정리
+ * - 읽지 않는 클라이언트 검증을 위해 idle-timeout 을 짧게
+**/
+@SpringBootTest(properties = "querydsl.reactive.idle-timeout=1s")
+public class MemberReactiveRepositoryTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    MemberReactiveRepository memberReactiveRepository;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @BeforeEach
+    public void before() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Team teamA = new Team("teamA");
+            Team teamB = new Team("teamB");
+            em.persist(teamA);
+            em.persist(teamB);
+
+            for (int i = 0; i < 100; i++) {
+                em.persist(new Member("member" + i, i, i % 3 == 0 ? null : (i % 3 == 1 ? teamA : teamB)));
+            }
+        });
+    }
+
+    @AfterEach
+    public void after() {
+        jdbcTemplate.update("delete from member");
+        jdbcTemplate.update("delete from team");
+        jdbcTemplate.update("delete from team_statistics");
+    }
+
+    @Test
+    public void searchTest() {
+        MemberSearchCondition condition = MemberSearchCondition.builder()
+                .teamName("teamA")
+                .ageGoe(20)
+                .build();
+
+        List<MemberTeamDto> result = memberReactiveRepository.search(condition).collectList().block();
+
+        assertThat(result)
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyInAnyOrderElementsOf(memberRepository.search(condition));
+    }
+
+    @Test
+    public void boundedElasticTest() {
+        String thread = memberReactiveRepository.search(new MemberSearchCondition())
+                .map(member -> Thread.currentThread().getName())
+                .blockFirst();
+
+        assertThat(thread).startsWith("boundedElastic");
+    }
+
+    @Test
+    public void cancelTest() {
+        // 취소 후에도 커넥션이 반납 되어야 다음 조회가 가능
+        for (int i = 0; i < 20; i++) {
+            assertThat(memberReactiveRepository.search(new MemberSearchCondition())
+                    .take(5)
+                    .collectList()
+                    .block()).hasSize(5);
+        }
+
+        assertThat(memberReactiveRepository.search(new MemberSearchCondition()).count().block())
+                .isEqualTo(100L);
+    }
+
+    @Test
+    public void idleTimeoutTest() throws InterruptedException {
+        CountDownLatch terminated = new CountDownLatch(1);
+        AtomicReference<Throwable> error = new AtomicReference<>();
+
+        // 1 건만 요청 하고 더 읽지 않는 느린 클라이언트
+        memberReactiveRepository.search(new MemberSearchCondition()).subscribe(new BaseSubscriber<>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+                request(1);
+            }
+
+            @Override
+            protected void hookOnError(Throwable throwable) {
+                error.set(throwable);
+                terminated.countDown();
+            }
+        });
+
+        assertThat(terminated.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(error.get()).isInstanceOf(TimeoutException.class);
+        // 타임아웃 으로 커넥션이 반납 되어 다음 조회가 가능
+        assertThat(memberReactiveRepository.search(new MemberSearchCondition()).count().block())
+                .isEqualTo(100L);
+    }
+}
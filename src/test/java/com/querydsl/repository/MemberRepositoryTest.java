@@ -1,20 +1,33 @@
 package com.querydsl.repository;
 
+import com.querydsl.dto.CountStrategy;
+import com.querydsl.dto.MemberCountedPage;
+import com.querydsl.dto.MemberKeysetSlice;
 import com.querydsl.dto.MemberSearchCondition;
 import com.querydsl.dto.MemberTeamDto;
 import com.querydsl.entity.Member;
 import com.querydsl.entity.Team;
+import com.querydsl.exception.InvalidSearchRequestException;
+import com.querydsl.repository.custom.MemberRepositoryImpl;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityManager;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @SpringBootTest
 @Transactional
@@ -74,4 +87,190 @@ public class MemberRepositoryTest {
          * 특정 기능에 특화된 것이라면 별도의 레포지토리 클래스를 만들자!!!!
         **/
     }
+
+    @Test
+    public void searchPageComplexTest() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamB));
+        em.persist(new Member("member4", 40, teamB));
+
+        MemberSearchCondition cond = new MemberSearchCondition();
+
+        // 첫 페이지 컨텐츠가 페이지 크기보다 작으면 카운트 쿼리 없이 전체 수를 알 수 있다
+        Page<MemberTeamDto> onePage = memberRepository.searchPageComplex(cond, PageRequest.of(0, 10));
+        assertThat(onePage.getContent()).hasSize(4);
+        assertThat(onePage.getTotalElements()).isEqualTo(4);
+
+        Page<MemberTeamDto> firstPage = memberRepository.searchPageComplex(cond, PageRequest.of(0, 3));
+        assertThat(firstPage.getContent()).hasSize(3);
+        assertThat(firstPage.getTotalElements()).isEqualTo(4);
+
+        cond.setTeamName("teamB");
+        Page<MemberTeamDto> teamPage = memberRepository.searchPageComplex(cond, PageRequest.of(0, 1));
+        assertThat(teamPage.getContent()).extracting("teamName").containsOnly("teamB");
+        assertThat(teamPage.getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    public void searchKeysetTest() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 20, teamA));
+        em.persist(new Member("member4", 30, teamA));
+
+        MemberSearchCondition cond = new MemberSearchCondition();
+
+        MemberKeysetSlice first = memberRepository.searchKeyset(cond, null, 2);
+        assertThat(first.getContent()).extracting("name").containsExactly("member1", "member2");
+        assertThat(first.isHasNext()).isTrue();
+
+        MemberKeysetSlice second = memberRepository.searchKeyset(cond, first.getNextCursor(), 2);
+        assertThat(second.getContent()).extracting("name").containsExactly("member3", "member4");
+        assertThat(second.isHasNext()).isFalse();
+        assertThat(second.getNextCursor()).isNull();
+    }
+
+    @Test
+    public void searchKeysetInvalidRequestTest() {
+        MemberSearchCondition cond = new MemberSearchCondition();
+
+        assertThatThrownBy(() -> memberRepository.searchKeyset(cond, null, 0))
+                .isInstanceOf(InvalidSearchRequestException.class);
+        assertThatThrownBy(() -> memberRepository.searchKeyset(cond, null, -1))
+                .isInstanceOf(InvalidSearchRequestException.class);
+        assertThatThrownBy(() -> memberRepository.searchKeyset(cond, null, MemberRepositoryImpl.MAX_KEYSET_SIZE + 1))
+                .isInstanceOf(InvalidSearchRequestException.class);
+        assertThatThrownBy(() -> memberRepository.searchKeyset(cond, "not-a-cursor", 10))
+                .isInstanceOf(InvalidSearchRequestException.class);
+    }
+
+    @Test
+    public void searchStreamTest() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30));
+
+        MemberSearchCondition cond = new MemberSearchCondition();
+        cond.setAgeGoe(20);
+
+        try (Stream<MemberTeamDto> stream = memberRepository.searchStream(cond, 1)) {
+            List<String> names = stream.map(MemberTeamDto::getName).collect(Collectors.toList());
+            assertThat(names).containsExactlyInAnyOrder("member2", "member3");
+        }
+    }
+
+    @Test
+    public void searchPageCountStrategyTest() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+
+        for (int i = 0; i < 5; i++) {
+            em.persist(new Member("member" + i, 10 * i, teamA));
+        }
+
+        MemberSearchCondition cond = MemberSearchCondition.builder().teamName("teamA").build();
+
+        MemberCountedPage exact = memberRepository.searchPage(cond, PageRequest.of(0, 2), CountStrategy.EXACT);
+        assertThat(exact.getTotalElements()).isEqualTo(5);
+        assertThat(exact.isTotalExact()).isTrue();
+
+        // 상한(10,000) 보다 적으면 CAPPED 도 정확한 값
+        MemberCountedPage capped = memberRepository.searchPage(cond, PageRequest.of(0, 2), CountStrategy.CAPPED);
+        assertThat(capped.getTotalElements()).isEqualTo(5);
+        assertThat(capped.isTotalExact()).isTrue();
+        assertThat(capped.getTotalLabel()).isEqualTo("5");
+
+        // 마지막 페이지는 전략과 상관 없이 카운트 없이 정확한 값
+        MemberCountedPage last = memberRepository.searchPage(cond, PageRequest.of(2, 2), CountStrategy.ESTIMATED);
+        assertThat(last.getTotalElements()).isEqualTo(5);
+        assertThat(last.isTotalExact()).isTrue();
+    }
+
+    @Test
+    public void searchPageDeferredTest() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+
+        em.persist(new Member("member1", 40, teamA));
+        em.persist(new Member("member2", 30, teamA));
+        em.persist(new Member("member3", 20, teamA));
+        em.persist(new Member("member4", 10));
+
+        MemberSearchCondition cond = new MemberSearchCondition();
+
+        Page<MemberTeamDto> page = memberRepository.searchPageDeferred(cond, PageRequest.of(1, 2, Sort.by("age")));
+        assertThat(page.getContent()).extracting("name").containsExactly("member2", "member1");
+        assertThat(page.getTotalElements()).isEqualTo(4);
+
+        Page<MemberTeamDto> desc = memberRepository.searchPageDeferred(cond, PageRequest.of(0, 3, Sort.by("age").descending()));
+        assertThat(desc.getContent()).extracting("age").containsExactly(40, 30, 20);
+        assertThat(desc.getContent().get(0).getTeamName()).isEqualTo("teamA");
+
+        // 정렬할 수 없는 속성 -> 400
+        assertThatThrownBy(() -> memberRepository.searchPageDeferred(cond, PageRequest.of(0, 3, Sort.by("team"))))
+                .isInstanceOf(InvalidSearchRequestException.class);
+    }
+
+    @Test
+    public void searchBatchTest() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamB));
+        em.persist(new Member("member4", 40));
+        em.flush();
+
+        List<MemberSearchCondition> conditions = List.of(
+                MemberSearchCondition.builder().teamName("teamA").build(),
+                MemberSearchCondition.builder().ageGoe(25).build(),
+                MemberSearchCondition.builder().teamName("teamB").build(),
+                MemberSearchCondition.builder().name("none").build(),
+                MemberSearchCondition.builder().teamName("teamA").build());
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        long statements = statistics.getPrepareStatementCount();
+
+        List<List<MemberTeamDto>> result = memberRepository.searchBatch(conditions);
+
+        // 조건 5 개 (중복 1 개) -> SQL 1 번
+        assertThat(statistics.getPrepareStatementCount() - statements).isEqualTo(1);
+        assertThat(result).hasSize(5);
+        for (int i = 0; i < conditions.size(); i++) {
+            assertThat(result.get(i))
+                    .usingRecursiveFieldByFieldElementComparator()
+                    .containsExactlyInAnyOrderElementsOf(memberRepository.search(conditions.get(i)));
+        }
+        assertThat(result.get(1)).extracting("name").containsExactlyInAnyOrder("member3", "member4");
+        assertThat(result.get(3)).isEmpty();
+    }
+
+    @Test
+    public void searchBatchInvalidRequestTest() {
+        List<MemberSearchCondition> tooMany = Stream.generate(MemberSearchCondition::new)
+                .limit(MemberRepositoryImpl.MAX_BATCH_CONDITIONS + 1)
+                .collect(Collectors.toList());
+        assertThatThrownBy(() -> memberRepository.searchBatch(tooMany))
+                .isInstanceOf(InvalidSearchRequestException.class);
+
+        List<MemberSearchCondition> withNull = Arrays.asList(new MemberSearchCondition(), null);
+        assertThatThrownBy(() -> memberRepository.searchBatch(withNull))
+                .isInstanceOf(InvalidSearchRequestException.class)
+                .hasMessageContaining("index = 1");
+    }
 }
@@ -0,0 +1,125 @@
+package com.querydsl.repository;
+
+import com.querydsl.config.SecondLevelCacheMetrics;
+import com.querydsl.dto.MemberInsertRow;
+import com.querydsl.entity.Member;
+import com.querydsl.entity.Team;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 2차 캐시 (test application.yml 은 비활성 이므로 여기서만 활성)
+ * - 2차 캐시는 커밋 된 데이터만 공유 하므로 @Transactional 대신 직접 정리
+**/
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+        "spring.jpa.properties.hibernate.cache.region.factory_class=jcache",
+        "spring.jpa.properties.hibernate.javax.cache.provider=org.ehcache.jsr107.EhcacheCachingProvider",
+        "spring.jpa.properties.hibernate.javax.cache.uri=ehcache.xml"
+})
+public class SecondLevelCacheTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    MemberBulkInsertRepository memberBulkInsertRepository;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    Statistics statistics;
+    Long teamId;
+    Long memberId;
+
+    @BeforeEach
+    public void before() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Team team = new Team("teamA");
+            em.persist(team);
+            Member member = new Member("member1", 10, team);
+            em.persist(member);
+
+            teamId = team.getId();
+            memberId = member.getId();
+        });
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    public void after() {
+        jdbcTemplate.update("delete from member");
+        jdbcTemplate.update("delete from team");
+        jdbcTemplate.update("delete from team_statistics");
+        entityManagerFactory.getCache().evictAll();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+    }
+
+    @Test
+    public void entityCacheTest() {
+        // 첫 조회 에서 Member, Team 을 캐시에 올린다 (insert 시점 에는 올라가지 않음)
+        transactionTemplate.execute(status -> em.find(Member.class, memberId).getTeam().getName());
+        long statements = statistics.getPrepareStatementCount();
+
+        // 새 트랜잭션(영속성 컨텍스트) 에서도 DB 를 거치지 않는다
+        assertThat(memberJpaRepository.findMemberById(memberId)).isPresent();
+        String teamName = transactionTemplate.execute(status -> em.find(Member.class, memberId).getTeam().getName());
+
+        assertThat(teamName).isEqualTo("teamA");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+        assertThat(statistics.getDomainDataRegionStatistics(Member.class.getName()).getHitCount()).isGreaterThan(0);
+
+        assertThat(meterRegistry.get(SecondLevelCacheMetrics.HIT_RATIO_METRIC)
+                .tag("region", Member.class.getName())
+                .gauge().value()).isGreaterThan(0);
+    }
+
+    @Test
+    public void queryCacheTest() {
+        assertThat(memberRepository.findByName("member1")).hasSize(1);
+        long statements = statistics.getPrepareStatementCount();
+
+        assertThat(memberRepository.findByName("member1")).hasSize(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+        assertThat(statistics.getQueryRegionStatistics(MemberRepository.FIND_BY_NAME_CACHE_REGION).getHitCount())
+                .isEqualTo(1);
+
+        // JDBC 배치 insert 는 Hibernate 가 모르므로 저장소 에서 쿼리 캐시를 무효화
+        transactionTemplate.executeWithoutResult(status -> memberBulkInsertRepository.insertAll(
+                List.of(MemberInsertRow.of("member1", 20, teamId))));
+
+        assertThat(memberRepository.findByName("member1")).hasSize(2);
+    }
+}
@@ -0,0 +1,163 @@
+package com.querydsl.repository;
+
+import com.querydsl.dto.MemberInsertRow;
+import com.querydsl.dto.MemberSearchCondition;
+import com.querydsl.dto.TeamStatisticsDto;
+import com.querydsl.entity.Member;
+import com.querydsl.entity.Team;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 통계는 커밋 직전에 반영 되므로 @Transactional(롤백) 대신 직접 정리
+**/
+@SpringBootTest(properties = "querydsl.bulk.chunk-size=10")
+public class TeamStatisticsTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    TeamJpaRepository teamJpaRepository;
+
+    @Autowired
+    MemberBulkRepository memberBulkRepository;
+
+    @Autowired
+    MemberBulkInsertRepository memberBulkInsertRepository;
+
+    Long teamAId;
+    Long teamBId;
+
+    @BeforeEach
+    public void before() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Team teamA = new Team("teamA");
+            Team teamB = new Team("teamB");
+            em.persist(teamA);
+            em.persist(teamB);
+
+            em.persist(new Member("member1", 10, teamA));
+            em.persist(new Member("member2", 20, teamA));
+            em.persist(new Member("member3", 30, teamB));
+            em.persist(new Member("member4", 40, teamB));
+
+            teamAId = teamA.getId();
+            teamBId = teamB.getId();
+        });
+    }
+
+    @AfterEach
+    public void after() {
+        jdbcTemplate.update("delete from member");
+        jdbcTemplate.update("delete from team");
+        jdbcTemplate.update("delete from team_statistics");
+    }
+
+    @Test
+    public void persistTest() {
+        TeamStatisticsDto teamA = statistics(teamAId);
+        assertThat(teamA.getMemberCount()).isEqualTo(2);
+        assertThat(teamA.getAverageAge()).isEqualTo(15.0);
+        assertThat(teamA.getMinAge()).isEqualTo(10);
+        assertThat(teamA.getMaxAge()).isEqualTo(20);
+
+        transactionTemplate.executeWithoutResult(status ->
+                em.persist(new Member("member5", 50, em.find(Team.class, teamAId))));
+
+        teamA = statistics(teamAId);
+        assertThat(teamA.getMemberCount()).isEqualTo(3);
+        assertThat(teamA.getAgeSum()).isEqualTo(80);
+        assertThat(teamA.getMaxAge()).isEqualTo(50);
+    }
+
+    @Test
+    public void rollbackTest() {
+        transactionTemplate.executeWithoutResult(status -> {
+            em.persist(new Member("member5", 50, em.find(Team.class, teamAId)));
+            status.setRollbackOnly();
+        });
+
+        assertThat(statistics(teamAId).getMemberCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void removeTest() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Member member = em.createQuery("select m from Member m where m.name = :name", Member.class)
+                    .setParameter("name", "member4")
+                    .getSingleResult();
+            em.remove(member);
+        });
+
+        TeamStatisticsDto teamB = statistics(teamBId);
+        assertThat(teamB.getMemberCount()).isEqualTo(1);
+        assertThat(teamB.getMinAge()).isEqualTo(30);
+        assertThat(teamB.getMaxAge()).isEqualTo(30);
+    }
+
+    @Test
+    public void bulkInsertTest() {
+        transactionTemplate.executeWithoutResult(status -> {
+            memberBulkInsertRepository.insertAll(List.of(
+                    MemberInsertRow.of("member5", 5, teamAId),
+                    MemberInsertRow.of("member6", 60, teamAId)));
+        });
+
+        TeamStatisticsDto teamA = statistics(teamAId);
+        assertThat(teamA.getMemberCount()).isEqualTo(4);
+        assertThat(teamA.getAgeSum()).isEqualTo(95);
+        assertThat(teamA.getMinAge()).isEqualTo(5);
+        assertThat(teamA.getMaxAge()).isEqualTo(60);
+    }
+
+    @Test
+    public void bulkUpdateDeleteTest() {
+        memberBulkRepository.incrementAge(MemberSearchCondition.builder().teamName("teamA").build(), 100, null);
+        assertThat(statistics(teamAId).getMaxAge()).isEqualTo(120);
+        assertThat(statistics(teamBId).getMaxAge()).isEqualTo(40);
+
+        memberBulkRepository.delete(MemberSearchCondition.builder().ageGoe(35).build(), null);
+
+        TeamStatisticsDto teamA = statistics(teamAId);
+        TeamStatisticsDto teamB = statistics(teamBId);
+        assertThat(teamA.getMemberCount()).isEqualTo(0);
+        assertThat(teamA.getAverageAge()).isNull();
+        assertThat(teamB.getMemberCount()).isEqualTo(1);
+        assertThat(teamB.getMaxAge()).isEqualTo(30);
+    }
+
+    @Test
+    public void recalculateAllTest() {
+        jdbcTemplate.update("delete from team_statistics");
+        assertThat(statistics(teamAId).getMemberCount()).isEqualTo(0);
+
+        teamJpaRepository.recalculateAll();
+
+        assertThat(statistics(teamAId).getMemberCount()).isEqualTo(2);
+        assertThat(statistics(teamBId).getAgeSum()).isEqualTo(70);
+    }
+
+    private TeamStatisticsDto statistics(Long teamId) {
+        return teamJpaRepository.findAllStatistics().stream()
+                .filter(s -> s.getTeamId().equals(teamId))
+                .findFirst()
+                .orElseThrow();
+    }
+}
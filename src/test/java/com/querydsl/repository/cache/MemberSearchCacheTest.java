@@ -0,0 +1,89 @@
+package com.querydsl.repository.cache;
+
+import com.querydsl.config.ReplicaRouting;
+import com.querydsl.dto.MemberSearchCondition;
+import com.querydsl.dto.MemberTeamDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MemberSearchCacheTest {
+
+    @Test
+    public void readThroughTest() {
+        MemberSearchCache cache = new MemberSearchCache(100, Duration.ofMinutes(1));
+        AtomicInteger loadCount = new AtomicInteger();
+
+        MemberSearchCondition cond1 = MemberSearchCondition.builder().name("").teamName("teamA").ageGoe(20).build();
+        MemberSearchCondition cond2 = MemberSearchCondition.builder().teamName("teamA").ageGoe(20).build();
+
+        cache.get(cond1, c -> load(loadCount));
+        // 빈 문자열과 null 은 동일한 키
+        cache.get(cond2, c -> load(loadCount));
+
+        assertThat(loadCount.get()).isEqualTo(1);
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+        assertThat(cache.stats().missCount()).isEqualTo(1);
+
+        cache.evictAll();
+        cache.get(cond2, c -> load(loadCount));
+        assertThat(loadCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void markDirtyTest() {
+        MemberSearchCache cache = new MemberSearchCache(100, Duration.ofMinutes(1));
+        AtomicInteger loadCount = new AtomicInteger();
+        MemberSearchCondition cond = MemberSearchCondition.builder().teamName("teamA").build();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.get(cond, c -> load(loadCount));
+
+            // 엔티티 변경 마다 호출 되어도 커밋 전 에는 무효화 하지 않고, 동기화는 하나만 등록
+            cache.markDirty();
+            cache.markDirty();
+            cache.get(cond, c -> load(loadCount));
+            assertThat(loadCount.get()).isEqualTo(1);
+
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            assertThat(synchronizations).hasSize(1);
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+            synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        cache.get(cond, c -> load(loadCount));
+        assertThat(loadCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void primaryForcedTest() {
+        MemberSearchCache cache = new MemberSearchCache(100, Duration.ofMinutes(1));
+        AtomicInteger loadCount = new AtomicInteger();
+        MemberSearchCondition cond = MemberSearchCondition.builder().teamName("teamA").build();
+
+        List<MemberTeamDto> cached = cache.get(cond, c -> load(loadCount));
+
+        // primary 강제 조회는 캐시 된 결과 대신 항상 loader 로 조회 하고, 결과를 캐시 하지도 않는다
+        List<MemberTeamDto> fresh = List.of(new MemberTeamDto(1L, "member1", 21, 1L, "teamA"));
+        List<MemberTeamDto> result = ReplicaRouting.primary(() -> cache.get(cond, c -> fresh));
+        assertThat(result).isEqualTo(fresh).isNotEqualTo(cached);
+        assertThat(cache.stats().hitCount()).isZero();
+
+        assertThat(cache.get(cond, c -> load(loadCount))).isEqualTo(cached);
+        assertThat(loadCount.get()).isEqualTo(1);
+    }
+
+    private List<MemberTeamDto> load(AtomicInteger loadCount) {
+        loadCount.incrementAndGet();
+        return List.of(new MemberTeamDto(1L, "member1", 20, 1L, "teamA"));
+    }
+}
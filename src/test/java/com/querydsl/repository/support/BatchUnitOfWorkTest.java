@@ -0,0 +1,125 @@
+package com.querydsl.repository.support;
+
+import com.querydsl.entity.Member;
+import com.querydsl.repository.MemberJpaRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "querydsl.unit-of-work.flush-interval=10")
+@Transactional
+public class BatchUnitOfWorkTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    BatchUnitOfWork unitOfWork;
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void saveAllTest() {
+        Member callerMember = new Member("caller", 100);
+        em.persist(callerMember);
+
+        List<Member> members = IntStream.range(0, 25)
+                .mapToObj(i -> new Member("member" + i, i))
+                .toList();
+
+        memberJpaRepository.saveAll(members);
+
+        // 10 개 마다 flush -> detach, 마지막 5 개와 호출 측 이 먼저 저장한 회원만 영속 상태
+        assertThat(unitOfWork.managedEntities()).isEqualTo(6);
+        assertThat(em.contains(callerMember)).isTrue();
+        assertThat(em.contains(members.get(0))).isFalse();
+        assertThat(em.contains(members.get(24))).isTrue();
+        assertThat(em.createQuery("select count(m) from Member m", Long.class).getSingleResult())
+                .isEqualTo(26L);
+
+        assertThat(meterRegistry.get(BatchUnitOfWork.FLUSH_METRIC)
+                .tags("work", "saveAll")
+                .timer().count()).isGreaterThanOrEqualTo(2);
+        assertThat(meterRegistry.get(BatchUnitOfWork.SIZE_METRIC)
+                .tags("work", "saveAll")
+                .summary().max()).isEqualTo(11);
+    }
+
+    /**
+     * 간격 flush 가 없어도 커밋 시점 flush 를 기록
+    **/
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void commitFlushMetricTest() {
+        double before = flushCount("commit");
+        try {
+            transactionTemplate.executeWithoutResult(status -> unitOfWork.persistAll("commit",
+                    List.of(new Member("commit1", 10), new Member("commit2", 20))));
+
+            assertThat(flushCount("commit")).isEqualTo(before + 1);
+            assertThat(meterRegistry.get(BatchUnitOfWork.SIZE_METRIC)
+                    .tags("work", "commit")
+                    .summary().max()).isEqualTo(2);
+        } finally {
+            jdbcTemplate.update("delete from member where name in ('commit1', 'commit2')");
+        }
+    }
+
+    private double flushCount(String work) {
+        Timer timer = meterRegistry.find(BatchUnitOfWork.FLUSH_METRIC).tags("work", work).timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    @Test
+    public void smallBatchTest() {
+        List<Member> members = List.of(new Member("member1", 10), new Member("member2", 20));
+
+        unitOfWork.persistAll("small", members);
+
+        // flush-interval 보다 적으면 flush, detach 하지 않음
+        assertThat(members).allMatch(em::contains);
+    }
+
+    @Test
+    public void readOnlyTest() {
+        Member member = new Member("member1", 10);
+        em.persist(member);
+        em.flush();
+        em.clear();
+
+        Session session = em.unwrap(Session.class);
+        Member readOnlyMember = unitOfWork.readOnly(() -> {
+            assertThat(session.getHibernateFlushMode()).isEqualTo(FlushMode.MANUAL);
+            return em.find(Member.class, member.getId());
+        });
+
+        // 읽기 전용 으로 읽은 엔티티는 dirty checking 대상이 아님, 구간이 끝나면 원래 설정으로 복원
+        assertThat(session.isReadOnly(readOnlyMember)).isTrue();
+        assertThat(session.isDefaultReadOnly()).isFalse();
+        assertThat(session.getHibernateFlushMode()).isEqualTo(FlushMode.AUTO);
+    }
+}
@@ -0,0 +1,61 @@
+package com.querydsl.repository.support;
+
+import com.querydsl.dto.MemberSearchCondition;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MemberQueryMetricsTest {
+
+    @Test
+    public void shapeTagTest() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MemberQueryMetrics metrics = new MemberQueryMetrics(registry);
+
+        MemberSearchShape shape = MemberSearchShape.of(
+                MemberSearchCondition.builder().teamName("teamA").ageLoe(30).build());
+
+        metrics.content("search", shape, () -> List.of("a", "b", "c"));
+        metrics.count("search", shape, () -> 3L);
+
+        assertThat(registry.get(MemberQueryMetrics.QUERY_METRIC)
+                .tags("method", "search", "shape", "teamName+ageLoe", "phase", "content")
+                .timer().count()).isEqualTo(1);
+        assertThat(registry.get(MemberQueryMetrics.QUERY_METRIC)
+                .tags("phase", "count")
+                .timer().count()).isEqualTo(1);
+        assertThat(registry.get(MemberQueryMetrics.ROWS_METRIC)
+                .tags("method", "search")
+                .summary().totalAmount()).isEqualTo(3);
+    }
+
+    @Test
+    public void streamOutcomeTest() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MemberQueryMetrics metrics = new MemberQueryMetrics(registry);
+
+        try (Stream<String> stream = metrics.stream("stream", null, () -> Stream.of("a", "b"))) {
+            assertThat(stream.count()).isEqualTo(2);
+        }
+        try (Stream<String> stream = metrics.stream("stream", null, () -> Stream.of("a", "b"))) {
+            assertThat(stream.findFirst()).contains("a");
+        }
+        try (Stream<String> stream = metrics.stream("stream", null, () -> Stream.<String>of("a", null)
+                .map(String::trim))) {
+            assertThatThrownBy(() -> stream.forEach(row -> { }))
+                    .isInstanceOf(NullPointerException.class);
+        }
+
+        assertThat(registry.get(MemberQueryMetrics.QUERY_METRIC)
+                .tags("method", "stream", "outcome", "success").timer().count()).isEqualTo(1);
+        assertThat(registry.get(MemberQueryMetrics.QUERY_METRIC)
+                .tags("method", "stream", "outcome", "cancelled").timer().count()).isEqualTo(1);
+        assertThat(registry.get(MemberQueryMetrics.QUERY_METRIC)
+                .tags("method", "stream", "outcome", "error").timer().count()).isEqualTo(1);
+    }
+}